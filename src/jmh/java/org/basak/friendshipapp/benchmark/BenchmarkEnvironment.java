@@ -0,0 +1,110 @@
+package org.basak.friendshipapp.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.basak.friendshipapp.FriendshipAppApplication;
+import org.basak.friendshipapp.repository.MessageRepository;
+import org.basak.friendshipapp.repository.UserRepository;
+import org.basak.friendshipapp.service.FollowService;
+import org.basak.friendshipapp.service.MessageService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark'ların ortak durumu: gömülü bir PostgreSQL başlatır, sentetik grafı yükler ve uygulama context'ini açar.
+ * <p>
+ * İki aşamada çalışır: ilk context şemayı (ddl-auto=create, import.sql) oluşturur ve veriyi yazar; ikinci context
+ * aynı veritabanına ddl-auto=none ile bağlanır. Böylece bellekteki indeksler (takip grafı, Bloom filtresi,
+ * kullanıcı adı indeksi, öneriler) uygulamanın gerçek açılışında olduğu gibi ApplicationReady'de doldurulur.
+ * <p>
+ * Parametreler: {@code ./gradlew jmh -PuserCount=100000 -PavgDegree=50 -PdegreeDistribution=UNIFORM}
+ * <p>
+ * {@code -PidAllocationSize=1,50,200} id tahsis boyutunu üç sequence için birden değiştirir (0: application.yml'deki
+ * varsayılanlar); InsertBenchmark bu değerleri IDENTITY tablosuyla karşılaştırır.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkEnvironment {
+    @Param("10000")
+    public int userCount;
+    @Param("20")
+    public int avgDegree;
+    @Param("POWER_LAW")
+    public DegreeDistribution degreeDistribution;
+    @Param("10")
+    public int messagesPerUser;
+    @Param("0")
+    public int idAllocationSize;
+
+    public FollowService followService;
+    public MessageService messageService;
+    public UserRepository userRepository;
+    public MessageRepository messageRepository;
+    public IdentityMessageRepository identityMessageRepository;
+    public JdbcTemplate jdbcTemplate;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        String url = postgres.getJdbcUrl("postgres", "postgres");
+
+        try (ConfigurableApplicationContext seedContext = start(url, "create", idAllocationSize)) {
+            new SyntheticGraph(seedContext.getBean(JdbcTemplate.class), seedContext.getBean(MessageService.class), 42L)
+                    .generate(userCount, avgDegree, degreeDistribution, messagesPerUser);
+        }
+        context = start(url, "none", idAllocationSize);
+        followService = context.getBean(FollowService.class);
+        messageService = context.getBean(MessageService.class);
+        userRepository = context.getBean(UserRepository.class);
+        messageRepository = context.getBean(MessageRepository.class);
+        identityMessageRepository = context.getBean(IdentityMessageRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    public long randomUserId(SplittableRandom random) {
+        return 1 + random.nextLong(userCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    //komut satırı argümanları application.yml'deki değerleri ezer
+    private static ConfigurableApplicationContext start(String url, String ddlAuto, int idAllocationSize) {
+        List<String> args = new ArrayList<>(List.of("--spring.datasource.url=" + url,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--friendship.index-check.enabled=false",
+                "--logging.level.root=WARN"));
+        if (idAllocationSize > 0) {
+            for (String sequence : List.of("seq_user", "seq_follow", "seq_message")) {
+                args.add("--spring.jpa.properties.friendship.id.allocation-size." + sequence + "=" + idAllocationSize);
+            }
+        }
+        return new SpringApplicationBuilder(FriendshipAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,9 @@
+package org.basak.friendshipapp.benchmark;
+
+/**
+ * Sentetik takip grafiğinde kullanıcıların takip ettiği kişi sayısının dağılımı.
+ */
+public enum DegreeDistribution {
+    UNIFORM,    //herkes yaklaşık ortalama kadar kişiyi takip eder, takip edilenler rastgele seçilir
+    POWER_LAW   //takip sayıları ağır kuyruklu (Pareto), takip edilenler az sayıda popüler kullanıcıda yoğunlaşır
+}
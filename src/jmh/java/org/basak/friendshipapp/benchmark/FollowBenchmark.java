@@ -0,0 +1,65 @@
+package org.basak.friendshipapp.benchmark;
+
+import org.basak.friendshipapp.entity.Follow;
+import org.basak.friendshipapp.entity.User;
+import org.basak.friendshipapp.exception.FriendshipException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takip yazma ve okuma yollarının benchmark'ı. Her çağrı rastgele kullanıcı(lar) üzerinde çalışır.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FollowBenchmark {
+
+    @State(Scope.Thread)
+    public static class Randoms {
+        public final SplittableRandom random = new SplittableRandom();
+    }
+
+    /**
+     * İstek gönder + kabul et + takipten çık. Graf boyutu sabit kalır; zaten takip edilen çiftler (nadir) atlanır.
+     */
+    @Benchmark
+    public Follow sendAndAcceptFollowRequest(BenchmarkEnvironment env, Randoms randoms) {
+        long followerId = env.randomUserId(randoms.random);
+        long followeeId = env.randomUserId(randoms.random);
+        try {
+            Follow follow = env.followService.sendFollowRequest(followerId, followeeId);
+            env.followService.acceptFollowRequest(follow.getId(), followeeId);
+            return env.followService.unFollow(follow.getId(), followerId);
+        } catch (FriendshipException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public List<User> getFollowers(BenchmarkEnvironment env, Randoms randoms) {
+        return env.followService.getFollowers(env.randomUserId(randoms.random));
+    }
+
+    @Benchmark
+    public List<User> getFriends(BenchmarkEnvironment env, Randoms randoms) {
+        return env.followService.getFriends(env.randomUserId(randoms.random));
+    }
+
+    @Benchmark
+    public List<User> getFollowSuggestions(BenchmarkEnvironment env, Randoms randoms) {
+        return env.followService.getFollowSuggestions(env.randomUserId(randoms.random));
+    }
+}
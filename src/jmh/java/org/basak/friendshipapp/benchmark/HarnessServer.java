@@ -0,0 +1,81 @@
+package org.basak.friendshipapp.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.basak.friendshipapp.FriendshipAppApplication;
+import org.basak.friendshipapp.service.MessageService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JMH dışındaki yük/kapasite harness'ları için: gömülü PostgreSQL'i sentetik grafla bir kez doldurur, ardından
+ * uygulamayı rastgele bir portta gerçek web sunucusuyla (Tomcat) istenen ayarlarla açar. Aynı veritabanı üzerinde
+ * uygulama farklı ayarlarla (ör. platform / sanal thread) art arda açılıp kapatılabilir.
+ */
+public class HarnessServer implements AutoCloseable {
+    private final EmbeddedPostgres postgres;
+    private final String url;
+    private ConfigurableApplicationContext context;
+
+    private HarnessServer(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+        this.url = postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    public static HarnessServer seeded(int userCount, int avgDegree, int messagesPerUser) throws IOException {
+        HarnessServer server = new HarnessServer(EmbeddedPostgres.builder().start());
+        try (ConfigurableApplicationContext seedContext = server.run(WebApplicationType.NONE, "create", List.of())) {
+            new SyntheticGraph(seedContext.getBean(JdbcTemplate.class), seedContext.getBean(MessageService.class), 42L)
+                    .generate(userCount, avgDegree, DegreeDistribution.POWER_LAW, messagesPerUser);
+        }
+        return server;
+    }
+
+    /**
+     * Uygulamayı verilen ek argümanlarla açar ve dinlediği portu döner.
+     */
+    public int start(String... extraArgs) {
+        stop();
+        context = run(WebApplicationType.SERVLET, "none", List.of(extraArgs));
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    public void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stop();
+        postgres.close();
+    }
+
+    //komut satırı argümanları application.yml'deki değerleri ezer
+    private ConfigurableApplicationContext run(WebApplicationType type, String ddlAuto, List<String> extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--spring.datasource.url=" + url,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--server.port=0",
+                "--friendship.index-check.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(extraArgs);
+        return new SpringApplicationBuilder(FriendshipAppApplication.class)
+                .web(type)
+                .profiles("benchmark")
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,39 @@
+package org.basak.friendshipapp.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Yalnızca benchmark için: tbl_message ile aynı kolonlara sahip, id'si IDENTITY ile üretilen tablo. Pooled-lo
+ * sequence'e geçmeden önceki id stratejisi (her satır için ayrı INSERT + üretilen anahtarın okunması, JDBC batch
+ * yok) ile aynı koşullarda karşılaştırma yapılmasını sağlar.
+ */
+@Entity
+@Table(name = "bench_identity_message")
+public class IdentityMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+    Long senderId;
+    Long receiverId;
+    Long conversationId;
+    String message;
+    LocalDateTime sendDate;
+    Boolean read;
+
+    protected IdentityMessage() {
+    }
+
+    public IdentityMessage(Long senderId, Long receiverId, String message, LocalDateTime sendDate) {
+        this.senderId = senderId;
+        this.receiverId = receiverId;
+        this.message = message;
+        this.sendDate = sendDate;
+        this.read = false;
+    }
+}
@@ -0,0 +1,6 @@
+package org.basak.friendshipapp.benchmark;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdentityMessageRepository extends JpaRepository<IdentityMessage, Long> {
+}
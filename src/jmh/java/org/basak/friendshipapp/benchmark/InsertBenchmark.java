@@ -0,0 +1,105 @@
+package org.basak.friendshipapp.benchmark;
+
+import org.basak.friendshipapp.entity.Message;
+import org.basak.friendshipapp.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Toplu insert verimi (satır/sn). Id üretim stratejisi ve JDBC batch ayarlarının etkisini ölçmek içindir:
+ * saveAllMessages (sequence + pooled-lo) ile saveAllIdentityMessages (aynı kolonlar, IDENTITY) aynı çalıştırmada
+ * karşılaştırılır; tahsis boyutunun etkisi için {@code -PidAllocationSize=1,50,200}.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=InsertBenchmark -PidAllocationSize=0,1}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertBenchmark {
+    private static final int BATCH = 500;
+    private static final AtomicLong USERNAME_SEQUENCE = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Randoms {
+        public final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<User> saveAllUsers(BenchmarkEnvironment env) {
+        List<User> users = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long n = USERNAME_SEQUENCE.incrementAndGet();
+            users.add(User.builder()
+                    .username("insert" + n)
+                    .email("insert" + n + "@bench.local")
+                    .followerCount(0)
+                    .followingCount(0)
+                    .isActive(true)
+                    .build());
+        }
+        return env.userRepository.saveAll(users);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<Message> saveAllMessages(BenchmarkEnvironment env, Randoms randoms) {
+        List<Message> messages = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long senderId = env.randomUserId(randoms.random);
+            messages.add(Message.builder()
+                    .senderId(senderId)
+                    .receiverId(senderId % env.userCount + 1)
+                    .message("benchmark mesajı")
+                    .sendDate(LocalDateTime.now())
+                    .read(false)
+                    .build());
+        }
+        return env.messageRepository.saveAll(messages);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<IdentityMessage> saveAllIdentityMessages(BenchmarkEnvironment env, Randoms randoms) {
+        List<IdentityMessage> messages = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long senderId = env.randomUserId(randoms.random);
+            messages.add(new IdentityMessage(senderId, senderId % env.userCount + 1, "benchmark mesajı",
+                    LocalDateTime.now()));
+        }
+        return env.identityMessageRepository.saveAll(messages);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<Message> persistAllMessages(BenchmarkEnvironment env, Randoms randoms) {
+        List<Message> messages = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long senderId = env.randomUserId(randoms.random);
+            messages.add(Message.builder()
+                    .senderId(senderId)
+                    .receiverId(senderId % env.userCount + 1)
+                    .message("benchmark mesajı")
+                    .sendDate(LocalDateTime.now())
+                    .build());
+        }
+        return env.messageService.persistAll(messages);
+    }
+}
@@ -0,0 +1,74 @@
+package org.basak.friendshipapp.benchmark;
+
+import org.basak.friendshipapp.entity.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesaj yazma ve okuma yollarının benchmark'ı. Konuşma okuma, verisi olan gerçek konuşma çiftleri üzerinde yapılır.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MessageBenchmark {
+
+    @State(Scope.Thread)
+    public static class Randoms {
+        public final SplittableRandom random = new SplittableRandom();
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConversationPairs {
+        public List<long[]> pairs;
+
+        @Setup(Level.Trial)
+        public void load(BenchmarkEnvironment env) {
+            pairs = env.jdbcTemplate.query("SELECT user_low_id, user_high_id FROM tbl_conversation ORDER BY random() LIMIT 10000",
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        }
+
+        public long[] next(SplittableRandom random) {
+            return pairs.get(random.nextInt(pairs.size()));
+        }
+    }
+
+    @Benchmark
+    public Message sendMessage(BenchmarkEnvironment env, Randoms randoms) {
+        long senderId = env.randomUserId(randoms.random);
+        long receiverId = env.randomUserId(randoms.random);
+        if (senderId == receiverId) {
+            receiverId = senderId % env.userCount + 1;
+        }
+        return env.messageService.sendMessage(senderId, receiverId, "benchmark mesajı");
+    }
+
+    @Benchmark
+    public List<Message> findConversation(BenchmarkEnvironment env, ConversationPairs pairs, Randoms randoms) {
+        long[] pair = pairs.next(randoms.random);
+        return env.messageService.findConversation(pair[0], pair[1]);
+    }
+
+    /**
+     * Ölçüm ilerledikçe okunmamış mesajlar tükenir; sonuçlar "çoğunlukla okunmuş gelen kutusu" durumunu yansıtır.
+     * Okunmamış mesaj yoğunluğu messagesPerUser ile artırılabilir.
+     */
+    @Benchmark
+    public int markAllAsRead(BenchmarkEnvironment env, Randoms randoms) {
+        return env.messageService.markAllAsRead(env.randomUserId(randoms.random));
+    }
+}
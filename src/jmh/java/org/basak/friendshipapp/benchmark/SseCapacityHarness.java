@@ -0,0 +1,105 @@
+package org.basak.friendshipapp.benchmark;
+
+import org.basak.friendshipapp.notification.NotificationService;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Boşta SSE bağlantı kapasitesi: N bildirim akışı açar, hiçbir olay göndermeden bekletir ve bağlantı başına heap ile
+ * thread kullanımını raporlar. Bağlantılar gerçek HTTP üzerinden /notification/stream'e açılır, böylece Tomcat'in
+ * bağlantı başına maliyeti de ölçüme girer.
+ * <p>
+ * {@code ./gradlew sseCapacity -Pconnections=10000 [-PvirtualThreads] [-PholdSeconds=60]}
+ * <p>
+ * İstemci aynı JVM'de çalışır; heap değerleri istemci tarafının (HttpClient) bağlantı maliyetini de içerir, yani üst
+ * sınırdır. İstemci ve sunucu soketleri aynı süreçte açıldığı için dosya tanımlayıcı sınırı en az 2N + 1000 olmalıdır
+ * ({@code ulimit -n}).
+ */
+public final class SseCapacityHarness {
+
+    private SseCapacityHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = Integer.getInteger("connections", 10_000);
+        boolean virtualThreads = Boolean.getBoolean("virtualThreads");
+        int holdSeconds = Integer.getInteger("holdSeconds", 60);
+        int userCount = Math.max(1, Math.min(connections, 10_000));
+
+        try (HarnessServer server = HarnessServer.seeded(userCount, 5, 0)) {
+            int port = server.start("--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--server.tomcat.max-connections=" + (connections + 1_000),
+                    "--friendship.notifications.max-connections-per-user=" + connections,
+                    "--friendship.notifications.timeout-ms=" + Duration.ofHours(1).toMillis());
+            NotificationService notifications = server.context().getBean(NotificationService.class);
+            Snapshot before = Snapshot.take();
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            List<CompletableFuture<HttpResponse<InputStream>>> streams = new ArrayList<>(connections);
+            long openStart = System.nanoTime();
+            for (int i = 0; i < connections; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                + "/v1/dev/notification/stream?userId=" + (1 + i % userCount)))
+                        .header("Accept", "text/event-stream")
+                        .build();
+                streams.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()));
+            }
+            CompletableFuture.allOf(streams.toArray(CompletableFuture[]::new)).join();
+            long openMs = (System.nanoTime() - openStart) / 1_000_000;
+
+            // en az bir heartbeat turunun geçmesi için bekle; bağlantı sayısı düşerse kopan akış vardır
+            Thread.sleep(Duration.ofSeconds(holdSeconds).toMillis());
+            Snapshot after = Snapshot.take();
+            int open = notifications.getConnectionCount();
+
+            System.out.printf("%nSSE boşta bağlantı kapasitesi (%s thread)%n", virtualThreads ? "sanal" : "platform");
+            System.out.printf("  istenen / açık bağlantı      : %d / %d (açılış %d ms, bekleme %d sn)%n",
+                    connections, open, openMs, holdSeconds);
+            System.out.printf("  heap (GC sonrası)            : %,d KB -> %,d KB, bağlantı başına %,d bayt%n",
+                    before.heapBytes() / 1024, after.heapBytes() / 1024,
+                    open == 0 ? 0 : (after.heapBytes() - before.heapBytes()) / open);
+            System.out.printf("  platform thread (toplam)     : %d -> %d%n", before.threads(), after.threads());
+            System.out.printf("  Tomcat thread (http-nio-*)   : %d -> %d%n", before.tomcatThreads(), after.tomcatThreads());
+
+            streams.forEach(stream -> stream.thenAccept(response -> {
+                try {
+                    response.body().close();
+                } catch (Exception ignored) {
+                    // kapanış hataları ölçümü etkilemez
+                }
+            }));
+        }
+    }
+
+    private record Snapshot(long heapBytes, int threads, int tomcatThreads) {
+        static Snapshot take() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            int tomcat = 0;
+            for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(false, false)) {
+                if (info.getThreadName().startsWith("http-nio-")) {
+                    tomcat++;
+                }
+            }
+            return new Snapshot(memory.getHeapMemoryUsage().getUsed(),
+                    ManagementFactory.getThreadMXBean().getThreadCount(), tomcat);
+        }
+    }
+}
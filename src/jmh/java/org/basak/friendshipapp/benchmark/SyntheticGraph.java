@@ -0,0 +1,133 @@
+package org.basak.friendshipapp.benchmark;
+
+import org.basak.friendshipapp.entity.Message;
+import org.basak.friendshipapp.service.MessageService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark veritabanını verilen boyut ve derece dağılımına göre doldurur. Kullanıcılar ve takip kenarları JDBC
+ * batch ile doğrudan yazılır (id'ler 1..n), sequence'ler ardından ileri alınır. Mesajlar konuşma tablosu da
+ * güncellensin diye MessageService.persistAll üzerinden yazılır. Aynı seed ile her çalıştırmada aynı graf üretilir.
+ */
+public class SyntheticGraph {
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageService messageService;
+    private final SplittableRandom random;
+
+    public SyntheticGraph(JdbcTemplate jdbcTemplate, MessageService messageService, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageService = messageService;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void generate(int userCount, int avgDegree, DegreeDistribution distribution, int messagesPerUser) {
+        insertUsers(userCount);
+        long followCount = insertFollows(userCount, avgDegree, distribution);
+        jdbcTemplate.update("UPDATE tbl_user u SET " +
+                "follower_count = (SELECT count(*) FROM tbl_follow f WHERE f.followee_id = u.id AND f.status = 'OK'), " +
+                "following_count = (SELECT count(*) FROM tbl_follow f WHERE f.follower_id = u.id AND f.status = 'OK')");
+        jdbcTemplate.execute("SELECT setval('seq_user', " + (userCount + 1) + ", false)");
+        jdbcTemplate.execute("SELECT setval('seq_follow', " + (followCount + 1) + ", false)");
+        insertMessages(userCount, messagesPerUser);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void insertUsers(int userCount) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= userCount; id++) {
+            rows.add(new Object[]{id, "user" + id, "user" + id + "@bench.local"});
+            if (rows.size() == BATCH_SIZE || id == userCount) {
+                jdbcTemplate.batchUpdate("INSERT INTO tbl_user (id, username, email, follower_count, following_count, " +
+                        "is_active) VALUES (?, ?, ?, 0, 0, true)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private long insertFollows(int userCount, int avgDegree, DegreeDistribution distribution) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        long followId = 0;
+        for (long followerId = 1; followerId <= userCount; followerId++) {
+            // çok popüler kullanıcı kuyruğunda seçim döngüsü uzamasın diye derece ortalamanın 50 katıyla sınırlanır
+            int degree = Math.min(Math.min(userCount - 1, avgDegree * 50), outDegree(avgDegree, distribution));
+            Set<Long> followees = new HashSet<>(degree * 2);
+            while (followees.size() < degree) {
+                long followeeId = pickFollowee(userCount, distribution);
+                if (followeeId != followerId) {
+                    followees.add(followeeId);
+                }
+            }
+            for (Long followeeId : followees) {
+                rows.add(new Object[]{++followId, followerId, followeeId});
+                if (rows.size() == BATCH_SIZE) {
+                    flushFollows(rows);
+                }
+            }
+        }
+        flushFollows(rows);
+        return followId;
+    }
+
+    private void flushFollows(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tbl_follow (id, follower_id, followee_id, status) VALUES (?, ?, ?, 'OK')",
+                rows);
+        rows.clear();
+    }
+
+    private void insertMessages(int userCount, int messagesPerUser) {
+        List<Message> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime start = LocalDateTime.now().minusDays(7);
+        for (long senderId = 1; senderId <= userCount; senderId++) {
+            for (int i = 0; i < messagesPerUser; i++) {
+                long receiverId = 1 + random.nextLong(userCount);
+                if (receiverId == senderId) {
+                    continue;
+                }
+                batch.add(Message.builder()
+                        .senderId(senderId)
+                        .receiverId(receiverId)
+                        .message("benchmark mesajı " + senderId + "-" + i)
+                        .sendDate(start.plusSeconds(random.nextLong(7 * 24 * 3600)))
+                        .read(random.nextBoolean())
+                        .build());
+                if (batch.size() == BATCH_SIZE) {
+                    messageService.persistAll(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            messageService.persistAll(batch);
+        }
+    }
+
+    private int outDegree(int avgDegree, DegreeDistribution distribution) {
+        if (distribution == DegreeDistribution.UNIFORM) {
+            return avgDegree;
+        }
+        // Pareto (alpha = 2): ortalama = 2 * xm, bu yüzden xm = avgDegree / 2
+        double xm = Math.max(1, avgDegree / 2.0);
+        return (int) Math.round(xm / Math.sqrt(1 - random.nextDouble()));
+    }
+
+    private long pickFollowee(int userCount, DegreeDistribution distribution) {
+        if (distribution == DegreeDistribution.UNIFORM) {
+            return 1 + random.nextLong(userCount);
+        }
+        // küçük id'lere doğru çarpık seçim: id'si küçük kullanıcılar "ünlü" olur
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return 1 + Math.min(userCount - 1, (long) (skewed * userCount));
+    }
+}
@@ -0,0 +1,159 @@
+package org.basak.friendshipapp.benchmark;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform ve sanal thread modlarının HTTP yükü altında karşılaştırması. Aynı veritabanı üzerinde uygulama önce
+ * platform, sonra sanal thread modunda açılır; her eşzamanlılık düzeyi için kapalı döngü (her istemci yanıtı alınca
+ * bir sonrakini gönderir) yük uygulanır ve verim (istek/sn), p50/p99/p99.9 gecikme ile hata sayısı raporlanır.
+ * <p>
+ * İstek karışımı gerçek okuma/yazma yollarını temsil eder: takipçi sayfası, gelen kutusu, konuşma sayfası, okunmamış
+ * sayısı ve mesaj gönderme (%10 yazma). Hikari bağlantı bekleme zaman aşımları ayrıca raporlanır.
+ * <p>
+ * {@code ./gradlew threadModeLoad -Pconcurrency=50,200,800 -PdurationSeconds=30 -Pusers=10000}
+ */
+public final class ThreadModeLoadHarness {
+    private static final String ROOT = "/v1/dev";
+
+    private ThreadModeLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("users", 10_000);
+        int durationSeconds = Integer.getInteger("durationSeconds", 30);
+        int warmupSeconds = Integer.getInteger("warmupSeconds", 10);
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("concurrency", "50,200,800").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        List<String> extraArgs = System.getProperty("appArgs", "").isBlank()
+                ? List.of() : List.of(System.getProperty("appArgs").split(" "));
+
+        List<String> report = new ArrayList<>();
+        try (HarnessServer server = HarnessServer.seeded(users, 20, 10)) {
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                List<String> appArgs = new ArrayList<>(extraArgs);
+                appArgs.add("--spring.threads.virtual.enabled=" + virtualThreads);
+                int port = server.start(appArgs.toArray(String[]::new));
+                MeterRegistry registry = server.context().getBean(MeterRegistry.class);
+                String mode = virtualThreads ? "sanal" : "platform";
+                for (int concurrency : concurrencyLevels) {
+                    run(port, users, concurrency, warmupSeconds, null);
+                    double timeoutsBefore = hikariTimeouts(registry);
+                    Result result = run(port, users, concurrency, durationSeconds, new AtomicLong());
+                    report.add(String.format("%-9s %6d %10.0f %9.1f %9.1f %9.1f %8d %8.0f", mode, concurrency,
+                            result.throughput(), result.percentileMs(0.50), result.percentileMs(0.99),
+                            result.percentileMs(0.999), result.errors(), hikariTimeouts(registry) - timeoutsBefore));
+                }
+                server.stop();
+            }
+        }
+        System.out.printf("%n%-9s %6s %10s %9s %9s %9s %8s %8s%n", "mod", "eşzm.", "istek/sn", "p50 ms", "p99 ms",
+                "p99.9 ms", "hata", "havuz-zt");
+        report.forEach(System.out::println);
+    }
+
+    private static Result run(int port, int users, int concurrency, int seconds, AtomicLong errors) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        AtomicLong failures = errors == null ? new AtomicLong() : errors;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                long seed = i;
+                workers.add(executor.submit(() -> drive(client, port, users, deadline, new SplittableRandom(seed),
+                        failures)));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> worker : workers) {
+                long[] latencies = worker.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            Arrays.sort(all);
+            return new Result(all, all.length / elapsedSeconds, failures.get());
+        }
+    }
+
+    private static long[] drive(HttpClient client, int port, int users, long deadline, SplittableRandom random,
+                                AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = nextRequest(port, users, random);
+            long begin = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - begin;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static HttpRequest nextRequest(int port, int users, SplittableRandom random) {
+        String base = "http://localhost:" + port + ROOT;
+        long userId = 1 + random.nextLong(users);
+        long otherId = 1 + random.nextLong(users);
+        int pick = random.nextInt(100);
+        if (pick < 10) {
+            String body = "{\"senderId\":" + userId + ",\"receiverId\":" + otherId
+                    + ",\"message\":\"yük testi mesajı " + random.nextInt() + "\"}";
+            return HttpRequest.newBuilder(URI.create(base + "/message/messages"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        String path;
+        if (pick < 50) {
+            path = "/follow/followers/" + userId + "?size=20";
+        } else if (pick < 70) {
+            path = "/message/inbox?userId=" + userId + "&limit=20";
+        } else if (pick < 90) {
+            path = "/message/conversation?user1Id=" + userId + "&user2Id=" + otherId + "&size=50";
+        } else {
+            path = "/message/countunread?receiverId=" + userId;
+        }
+        return HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+    }
+
+    private static double hikariTimeouts(MeterRegistry registry) {
+        return registry.find("hikaricp.connections.timeout").counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private record Result(long[] sortedLatencyNanos, double throughput, long errors) {
+        double percentileMs(double percentile) {
+            if (sortedLatencyNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencyNanos.length) - 1;
+            return sortedLatencyNanos[Math.max(0, Math.min(sortedLatencyNanos.length - 1, index))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.basak.friendshipapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.event.ConversationDeletedEvent;
+import org.basak.friendshipapp.event.MessageEvent;
+import org.basak.friendshipapp.repository.MessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Gönderilen mesaj sayısını son 24 saatlik kayan pencerede bellekte tutar (dakikalık 1440 kova). Son 24 saat, son
+ * bir saat, son 5 dakika gibi pencereler COUNT sorgusu olmadan cevaplanır. Gönderen bazında son bir saatlik oranlar
+ * da tutulur (aktif gönderenlerle sınırlı).
+ * <p>
+ * Bean oluşturulduğu dakikadan önceki mesajlar açılışta veritabanından yüklenir; sonraki mesajlar commit sonrası
+ * MessageEvent'lerle eklenir. Silinen mesajlar (tekil silme ve ConversationDeletedEvent ile toplu silme) açılış
+ * öncesi dakikalarda da düşülür. Açılıştan sonra geçmiş tarihle yazılan mesajlar yalnızca veritabanında sayılır. Pencere sayıları "friendship.messages.sent" gauge'u olarak Actuator'a yayınlanır.
+ */
+@Component
+@Slf4j
+public class MessageRateCounter {
+    public static final int MAX_WINDOW_MINUTES = 24 * 60;
+    public static final int MAX_SENDER_WINDOW_MINUTES = 60;
+
+    private final MessageRepository messageRepository;
+    private final SlidingWindowCounter total = new SlidingWindowCounter(MAX_WINDOW_MINUTES);
+    private final Cache<Long, SlidingWindowCounter> perSender;
+    private final long startMinute = currentMinute();
+    private volatile boolean ready;
+
+    public MessageRateCounter(MessageRepository messageRepository, MeterRegistry meterRegistry,
+                              @Value("${friendship.message-rate.max-senders:100000}") long maxSenders) {
+        this.messageRepository = messageRepository;
+        this.perSender = Caffeine.newBuilder()
+                .maximumSize(maxSenders)
+                .expireAfterAccess(Duration.ofMinutes(MAX_SENDER_WINDOW_MINUTES))
+                .build();
+        for (int window : new int[]{5, 60, MAX_WINDOW_MINUTES}) {
+            Gauge.builder("friendship.messages.sent", this, counter -> counter.count(window))
+                    .description("Son pencerede gönderilen mesaj sayısı")
+                    .tag("window", window + "m")
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime to = toLocalDateTime(startMinute);
+        List<Object[]> rows = messageRepository.countPerMinuteBetween(to.minusMinutes(MAX_WINDOW_MINUTES), to);
+        long now = currentMinute();
+        long loaded = 0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            LocalDateTime minute = row[0] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[0];
+            total.add(toEpochMinute(minute), count, now);
+            loaded += count;
+        }
+        ready = true;
+        log.info("Mesaj oranı sayacı yüklendi: son 24 saatte {} mesaj, {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageEvent(MessageEvent event) {
+        if (event.sendDate() == null) {
+            return;
+        }
+        switch (event.type()) {
+            case SENT -> {
+                if (toEpochMinute(event.sendDate()) >= startMinute) { //açılış öncesi dakikalar veritabanından yüklenir
+                    add(event.sendDate(), event.senderId(), 1);
+                }
+            }
+            case DELETED -> add(event.sendDate(), event.senderId(), -1);
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConversationDeleted(ConversationDeletedEvent event) {
+        for (ConversationDeletedEvent.MinuteCount count : event.counts()) {
+            add(count.minute(), count.senderId(), -count.count());
+        }
+    }
+
+    private void add(LocalDateTime sendDate, Long senderId, long delta) {
+        long minute = toEpochMinute(sendDate);
+        long now = currentMinute();
+        total.add(minute, delta, now);
+        if (senderId == null || minute < startMinute) {
+            return; //gönderen sayaçları yalnızca açılıştan sonraki mesajları kapsar
+        }
+        if (delta > 0) {
+            perSender.get(senderId, id -> new SlidingWindowCounter(MAX_SENDER_WINDOW_MINUTES)).add(minute, delta, now);
+        } else {
+            SlidingWindowCounter counter = perSender.getIfPresent(senderId);
+            if (counter != null) {
+                counter.add(minute, delta, now);
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Son windowMinutes dakikada (en fazla 24 saat) gönderilen mesaj sayısı.
+     */
+    public long count(int windowMinutes) {
+        return total.sum(windowMinutes, currentMinute());
+    }
+
+    /**
+     * Gönderenin son windowMinutes dakikadaki (en fazla 60) mesaj sayısı; açılıştan sonraki mesajları kapsar.
+     */
+    public long countBySender(Long senderId, int windowMinutes) {
+        SlidingWindowCounter counter = perSender.getIfPresent(senderId);
+        return counter == null ? 0 : counter.sum(windowMinutes, currentMinute());
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 60_000;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMinute * 60_000), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,68 @@
+package org.basak.friendshipapp.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dakikalık kovalardan oluşan halka (ring buffer) üzerinde kilitsiz kayan pencere sayacı. Her kova bir LongAdder ve
+ * hangi dakikaya ait olduğunu gösteren epoch-dakika değeridir. Halka dönüp eski bir kovaya gelindiğinde kova CAS ile
+ * yeni dakikaya alınıp sıfırlanır. Sorgu, pencere içindeki kovaları toplar (O(kova sayısı)).
+ * <p>
+ * Kova sıfırlanırken aynı anda gelen birkaç artış kaybolabilir; sayaç izleme amaçlıdır, kesin sayım gerekirse
+ * veritabanı sorgulanmalıdır.
+ */
+class SlidingWindowCounter {
+    private final int bucketCount;
+    private final AtomicLongArray bucketMinutes;
+    private final LongAdder[] buckets;
+
+    SlidingWindowCounter(int bucketCount) {
+        this.bucketCount = bucketCount;
+        this.bucketMinutes = new AtomicLongArray(bucketCount);
+        this.buckets = new LongAdder[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            bucketMinutes.set(i, -1);
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Verilen dakikaya delta ekler. Halkanın kapsadığı aralık dışındaki (çok eski) dakikalar yok sayılır.
+     */
+    void add(long epochMinute, long delta, long nowMinute) {
+        if (epochMinute <= nowMinute - bucketCount) {
+            return;
+        }
+        long minute = Math.min(epochMinute, nowMinute);
+        int index = (int) Math.floorMod(minute, (long) bucketCount);
+        long current = bucketMinutes.get(index);
+        if (current != minute) {
+            if (current > minute) {
+                return; //kova daha yeni bir dakikaya geçmiş, bu dakika artık pencere dışında
+            }
+            if (bucketMinutes.compareAndSet(index, current, minute)) {
+                buckets[index].reset();
+            }
+        }
+        buckets[index].add(delta);
+    }
+
+    /**
+     * Son {@code windowMinutes} dakikanın (içinde bulunulan dakika dahil) toplamı.
+     */
+    long sum(int windowMinutes, long nowMinute) {
+        long oldest = nowMinute - Math.min(windowMinutes, bucketCount) + 1;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long minute = bucketMinutes.get(i);
+            if (minute >= oldest && minute <= nowMinute) {
+                total += buckets[i].sum();
+            }
+        }
+        return Math.max(0, total);
+    }
+
+    int bucketCount() {
+        return bucketCount;
+    }
+}
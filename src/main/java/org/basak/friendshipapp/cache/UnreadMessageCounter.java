@@ -0,0 +1,124 @@
+package org.basak.friendshipapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.dto.UnreadCountDto;
+import org.basak.friendshipapp.event.MessageEvent;
+import org.basak.friendshipapp.repository.MessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kullanıcı başına okunmamış mesaj sayaçlarını bellekte tutar. Sayaç ilk okunduğunda COUNT sorgusuyla yüklenir,
+ * sonrasında mesaj olaylarıyla (gönderme, okundu işaretleme, silme) güncellenir. Sayaçlar boyut ve son erişim
+ * süresiyle sınırlı bir Caffeine önbelleğinde durur; uzun süre sorulmayan kullanıcılar yer açar ("cache.*"
+ * metrikleri, cache=unread).
+ * <p>
+ * Olay ile ilk yükleme arasında oluşabilecek küçük sapmalar periyodik mutabakat ile düzeltilir. Mutabakat yalnızca
+ * son turdan beri yüklenen veya olay alan alıcılara bakar ve onları tek bir gruplu COUNT ile (parça parça) sayar.
+ * <p>
+ * Konuşma bazındaki okunmamış sayılar tbl_conversation üzerinde tutulur.
+ */
+@Component
+@Slf4j
+public class UnreadMessageCounter {
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+    private final MessageRepository messageRepository;
+    private final Cache<Long, AtomicLong> counters;
+    //son mutabakattan beri yüklenen ya da olay alan alıcılar
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    public UnreadMessageCounter(MessageRepository messageRepository, MeterRegistry meterRegistry,
+                                @Value("${friendship.unread-counter.max-entries:100000}") long maxEntries,
+                                @Value("${friendship.unread-counter.expire-after-access-minutes:30}") long expireAfterAccessMinutes) {
+        this.messageRepository = messageRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "unread");
+    }
+
+    public long get(Long receiverId) {
+        AtomicLong counter = counters.get(receiverId, id -> {
+            changed.add(id);
+            return new AtomicLong(messageRepository.countUnreadMessagesByReceiverId(id));
+        });
+        return Math.max(0, counter.get());
+    }
+
+    /**
+     * Bellekte sayacı olmayan kullanıcılar için olay yok sayılır; ilk okumada veritabanından yüklenir.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageEvent(MessageEvent event) {
+        if (event.unreadDelta() == 0) {
+            return;
+        }
+        AtomicLong counter = counters.getIfPresent(event.receiverId());
+        if (counter != null) {
+            counter.addAndGet(event.unreadDelta());
+            changed.add(event.receiverId());
+        }
+    }
+
+    /**
+     * Değişen alıcıların sayaçlarını gruplu COUNT sorgusuyla karşılaştırır. Kontrol sırasında sayaç değiştiyse (yeni
+     * olay geldiyse) o kullanıcı bir sonraki tura bırakılır.
+     */
+    @Scheduled(initialDelayString = "${friendship.unread-counter.reconcile-delay-ms:300000}",
+            fixedDelayString = "${friendship.unread-counter.reconcile-delay-ms:300000}")
+    public void reconcile() {
+        List<Long> receiverIds = new ArrayList<>();
+        for (Iterator<Long> it = changed.iterator(); it.hasNext(); ) {
+            receiverIds.add(it.next());
+            it.remove();
+        }
+        int fixed = 0;
+        for (int from = 0; from < receiverIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = receiverIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, receiverIds.size()));
+            Map<Long, AtomicLong> present = counters.getAllPresent(chunk);
+            if (present.isEmpty()) {
+                continue;
+            }
+            Map<Long, Long> observed = new HashMap<>();
+            present.forEach((receiverId, counter) -> observed.put(receiverId, counter.get()));
+            Map<Long, Long> actual = new HashMap<>();
+            for (UnreadCountDto count : messageRepository.countUnreadMessagesByReceiverIds(present.keySet())) {
+                actual.put(count.receiverId(), count.unreadCount());
+            }
+            for (Map.Entry<Long, AtomicLong> entry : present.entrySet()) {
+                long seen = observed.get(entry.getKey());
+                long expected = actual.getOrDefault(entry.getKey(), 0L);
+                if (seen == expected) {
+                    continue;
+                }
+                if (entry.getValue().compareAndSet(seen, expected)) {
+                    fixed++;
+                }
+                else {
+                    changed.add(entry.getKey());
+                }
+            }
+        }
+        if (fixed > 0) {
+            log.info("Okunmamış mesaj sayaçları mutabakatı: {} kullanıcının sayacı düzeltildi.", fixed);
+        }
+    }
+}
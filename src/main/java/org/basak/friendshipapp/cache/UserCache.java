@@ -0,0 +1,76 @@
+package org.basak.friendshipapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.basak.friendshipapp.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * UserService.findById/findAllById/existsById önündeki okuma önbelleği (Caffeine, W-TinyLFU). Boyut ve yazma
+ * sonrası süre ile sınırlıdır; hit/miss/eviction istatistikleri "cache.*" metrikleri olarak Actuator'a yayınlanır
+ * (cache=users).
+ * <p>
+ * Önbellekteki User nesneleri paylaşılır ve detached durumdadır; değiştirilecekse repository'den okunmalıdır.
+ */
+@Component
+public class UserCache {
+    private final Cache<Long, User> cache;
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${friendship.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${friendship.user-cache.expire-after-write-minutes:10}") long expireAfterWriteMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /**
+     * Önbellekte yoksa loader ile yükler; loader null dönerse (kullanıcı yok) önbelleğe bir şey yazılmaz.
+     */
+    public User get(Long id, Function<Long, User> loader) {
+        return cache.get(id, loader);
+    }
+
+    public Map<Long, User> getAllPresent(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    public void put(User user) {
+        if (user != null && user.getId() != null) {
+            cache.put(user.getId(), user);
+        }
+    }
+
+    /**
+     * Kaydı hemen, transaction varsa commit sonrasında bir kez daha siler; böylece commit öncesi başka bir thread'in
+     * eski değeri yeniden önbelleğe almasının etkisi kalmaz.
+     */
+    public void invalidate(Long... ids) {
+        for (Long id : ids) {
+            cache.invalidate(id);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (Long id : ids) {
+                        cache.invalidate(id);
+                    }
+                }
+            });
+        }
+    }
+}
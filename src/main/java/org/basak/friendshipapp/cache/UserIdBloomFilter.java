@@ -0,0 +1,156 @@
+package org.basak.friendshipapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mevcut kullanıcı id'lerinin Bloom filtresi. {@link #mightContain(Long)} false dönerse id bu filtrenin bildiği
+ * kullanıcılar arasında yoktur; true dönerse id muhtemelen vardır ve doğrulanması gerekir.
+ * <p>
+ * Filtre yalnızca yüklendiği andaki id'leri ve bu node'da {@link #put(Long)} ile eklenenleri bilir. Başka bir node'da
+ * veya UserService dışındaki bir yazıcıyla (ör. toplu veri üretimi) oluşturulan kullanıcılar bir sonraki yenilemeye
+ * kadar filtrede yoktur; pooled-lo id blokları yüzünden bu id'ler son yüklemedeki en büyük id'den küçük de olabilir.
+ * Bu yüzden filtrede olmamak tek başına yokluk kanıtı sayılmaz: filtrenin ıskaladığı id veritabanında doğrulanır,
+ * yoksa {@link #markAbsent(Long)} ile kısa ömürlü bir negatif önbelleğe yazılır. {@link #isKnownAbsent(Long)} yalnızca
+ * bu önbellekteki id'ler için true döner; başka yerde oluşturulan bir kullanıcı en fazla negatif önbellek süresi
+ * ({@code negative-ttl-ms}) kadar reddedilebilir.
+ * <p>
+ * Bitler bir {@link AtomicLongArray} içinde tutulur: okumalar kilitsiz, eklemeler CAS ile yapılır. Yenileme yeni bir
+ * dizi doldurup tek atamayla değiştirir; yenileme sürerken gelen eklemeler iki diziye de yazılır. Kullanıcı silme
+ * olmadığı için filtreden eleman çıkarmaya gerek yoktur. Filtre yüklenene kadar her id "muhtemelen var" kabul edilir.
+ */
+@Component
+@Slf4j
+public class UserIdBloomFilter {
+    private final UserRepository userRepository;
+    private final int wordCount;
+    private final long bitCount;
+    private final int hashCount;
+    private volatile AtomicLongArray words;
+    private volatile AtomicLongArray rebuilding;
+    //filtrenin ıskaladığı ve veritabanında da bulunamayan id'ler
+    private final Cache<Long, Boolean> confirmedAbsent;
+    private volatile boolean ready;
+
+    public UserIdBloomFilter(UserRepository userRepository,
+                             @Value("${friendship.user-bloom-filter.expected-users:1000000}") long expectedUsers,
+                             @Value("${friendship.user-bloom-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${friendship.user-bloom-filter.negative-ttl-ms:2000}") long negativeTtlMs,
+                             @Value("${friendship.user-bloom-filter.negative-cache-size:100000}") long negativeCacheSize) {
+        this.userRepository = userRepository;
+        this.confirmedAbsent = Caffeine.newBuilder()
+                .maximumSize(negativeCacheSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMs))
+                .build();
+        long bits = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsers * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Filtreyi veritabanındaki id'lerden yeniden kurar; başka node'larda veya başka yollarla eklenen kullanıcılar bu
+     * sayede filtreye girer.
+     */
+    @Scheduled(initialDelayString = "${friendship.user-bloom-filter.refresh-ms:300000}",
+            fixedDelayString = "${friendship.user-bloom-filter.refresh-ms:300000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        AtomicLongArray fresh = new AtomicLongArray(wordCount);
+        rebuilding = fresh;
+        List<Long> ids = userRepository.findAllIds();
+        for (Long id : ids) {
+            if (id != null) {
+                set(fresh, id);
+            }
+        }
+        words = fresh;
+        rebuilding = null;
+        ready = true;
+        log.info("Kullanıcı id Bloom filtresi yüklendi: {} id, {} bit, {} hash, {} ms",
+                ids.size(), bitCount, hashCount, System.currentTimeMillis() - start);
+    }
+
+    public void put(Long id) {
+        if (id == null) {
+            return;
+        }
+        set(words, id);
+        AtomicLongArray next = rebuilding;
+        if (next != null) {
+            set(next, id);
+        }
+        confirmedAbsent.invalidate(id);
+    }
+
+    public boolean mightContain(Long id) {
+        if (id == null) {
+            return false;
+        }
+        if (!ready) {
+            return true;
+        }
+        AtomicLongArray current = words;
+        long h1 = mix(id);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((current.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Id'nin veritabanına sorulmadan reddedilebileceğini söyler: filtrede yoktur ve kısa süre önce veritabanında da
+     * bulunamamıştır.
+     */
+    public boolean isKnownAbsent(Long id) {
+        return id == null || (!mightContain(id) && confirmedAbsent.getIfPresent(id) != null);
+    }
+
+    /**
+     * Veritabanında bulunamayan id'yi negatif önbelleğe yazar; yalnızca filtrenin ıskaladığı id'ler tutulur.
+     */
+    public void markAbsent(Long id) {
+        if (id != null && !mightContain(id)) {
+            confirmedAbsent.put(id, Boolean.TRUE);
+        }
+    }
+
+    private void set(AtomicLongArray target, long id) {
+        long h1 = mix(id);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << (bit & 63);
+            target.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    // SplitMix64 karıştırma fonksiyonu: ardışık id'leri bit dizisine düzgün dağıtır
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -12,11 +12,13 @@ public class EndPoints {
     public static final String FOLLOW = ROOT+ "/follow";
     public static final String MESSAGE = ROOT+ "/message";
     public static final String USER = ROOT+ "/user";
+    public static final String NOTIFICATION = ROOT+ "/notification";
 //	Metodlar
 
     //ORTAK:
     public static final String SAVE = "/save";
     public static final String FINDALL = "/find-all";
+    public static final String EXPORT = "/export";
 
     //USERCONTROLLER
     public static final String REGISTER = "/register";
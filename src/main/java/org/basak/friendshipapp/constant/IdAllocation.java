@@ -0,0 +1,19 @@
+package org.basak.friendshipapp.constant;
+
+/**
+ * Sequence tabanlı id üretimi için sequence adları ve varsayılan tahsis (allocation) boyutları. Hibernate her
+ * {@code nextval} çağrısında bu kadar id'yi bellekte ayırır (pooled-lo optimizer), böylece toplu insert'lerde her
+ * satır için sequence'e gidilmez ve JDBC batch devre dışı kalmaz.
+ * <p>
+ * Buradaki boyutlar yalnızca varsayılandır; çalışma zamanında
+ * {@code spring.jpa.properties.friendship.id.allocation-size.<sequence>} ile değiştirilebilir
+ * ({@link org.basak.friendshipapp.entity.ConfigurableSequenceGenerator}).
+ */
+public class IdAllocation {
+    public static final String USER_SEQUENCE = "seq_user";
+    public static final String FOLLOW_SEQUENCE = "seq_follow";
+    public static final String MESSAGE_SEQUENCE = "seq_message";
+    public static final int USER_ALLOCATION_SIZE = 50;
+    public static final int FOLLOW_ALLOCATION_SIZE = 100;
+    public static final int MESSAGE_ALLOCATION_SIZE = 200;
+}
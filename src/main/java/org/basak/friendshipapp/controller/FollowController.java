@@ -1,8 +1,11 @@
 package org.basak.friendshipapp.controller;
 import lombok.RequiredArgsConstructor;
 import org.basak.friendshipapp.dto.response.BaseResponse;
+import org.basak.friendshipapp.dto.response.CursorPage;
+import org.basak.friendshipapp.dto.response.FollowUserResponseDto;
 import org.basak.friendshipapp.dto.response.GetAllUsersResponseDto;
 import org.basak.friendshipapp.dto.response.GetMyFollowersResponseDto;
+import org.basak.friendshipapp.dto.response.LeaderboardEntryDto;
 import org.basak.friendshipapp.entity.Follow;
 import org.basak.friendshipapp.service.FollowService;
 import org.springframework.http.HttpStatus;
@@ -34,10 +37,91 @@ public class FollowController {
     public ResponseEntity<BaseResponse<List<GetMyFollowersResponseDto>>> getMyFollowers(@RequestParam Long userId) {
         List<GetMyFollowersResponseDto> followersList=followService.getMyFollowers(userId);
         return ResponseEntity.ok(BaseResponse.<List<GetMyFollowersResponseDto>>builder()
-                .data(followService.getMyFollowers(userId))
+                .data(followersList)
                 .code(200)
                 .message("Takipçi listesi başarıyla getirildi")
                 .success(true).build());
     }
 
+    // http://localhost:9090/follow/followers-summary?userId=1
+    @GetMapping("/followers-summary")
+    public ResponseEntity<BaseResponse<List<FollowUserResponseDto>>> getFollowerSummaries(@RequestParam Long userId) {
+        return ResponseEntity.ok(BaseResponse.<List<FollowUserResponseDto>>builder()
+                .data(followService.getFollowerSummaries(userId))
+                .code(200)
+                .message("Takipçi listesi başarıyla getirildi")
+                .success(true).build());
+    }
+
+    // http://localhost:9090/follow/followees-summary?userId=1
+    @GetMapping("/followees-summary")
+    public ResponseEntity<BaseResponse<List<FollowUserResponseDto>>> getFolloweeSummaries(@RequestParam Long userId) {
+        return ResponseEntity.ok(BaseResponse.<List<FollowUserResponseDto>>builder()
+                .data(followService.getFolloweeSummaries(userId))
+                .code(200)
+                .message("Takip edilenler listesi başarıyla getirildi")
+                .success(true).build());
+    }
+
+    // http://localhost:9090/follow/most-followed?page=0&size=10
+    @GetMapping("/most-followed")
+    public ResponseEntity<BaseResponse<List<LeaderboardEntryDto>>> getMostFollowedUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(BaseResponse.<List<LeaderboardEntryDto>>builder()
+                .data(followService.getMostFollowedUsers(page, size))
+                .code(200)
+                .message("En çok takip edilenler başarıyla getirildi")
+                .success(true).build());
+    }
+
+    // http://localhost:9090/follow/followers/1?size=20&cursor=...
+    @GetMapping("/followers/{userId}")
+    public ResponseEntity<BaseResponse<CursorPage<FollowUserResponseDto>>> getFollowersPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(BaseResponse.<CursorPage<FollowUserResponseDto>>builder()
+                .data(followService.getFollowersPage(userId, cursor, size))
+                .code(200)
+                .message("Takipçi listesi başarıyla getirildi")
+                .success(true).build());
+    }
+
+    @GetMapping("/followees/{userId}")
+    public ResponseEntity<BaseResponse<CursorPage<FollowUserResponseDto>>> getFolloweesPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(BaseResponse.<CursorPage<FollowUserResponseDto>>builder()
+                .data(followService.getFolloweesPage(userId, cursor, size))
+                .code(200)
+                .message("Takip edilenler listesi başarıyla getirildi")
+                .success(true).build());
+    }
+
+    @GetMapping("/friends/{userId}")
+    public ResponseEntity<BaseResponse<CursorPage<FollowUserResponseDto>>> getFriendsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(BaseResponse.<CursorPage<FollowUserResponseDto>>builder()
+                .data(followService.getFriendsPage(userId, cursor, size))
+                .code(200)
+                .message("Arkadaş listesi başarıyla getirildi")
+                .success(true).build());
+    }
+
+    @GetMapping("/pending/{userId}")
+    public ResponseEntity<BaseResponse<CursorPage<Follow>>> getPendingFollowsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(BaseResponse.<CursorPage<Follow>>builder()
+                .data(followService.getPendingFollowsPage(userId, cursor, size))
+                .code(200)
+                .message("Bekleyen takip istekleri başarıyla getirildi")
+                .success(true).build());
+    }
+
 }
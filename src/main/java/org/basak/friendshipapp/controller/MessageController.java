@@ -10,14 +10,21 @@ import jakarta.validation.Valid;
 import org.basak.friendshipapp.dto.MessageDto;
 import org.basak.friendshipapp.dto.request.MessageRequestDto;
 import org.basak.friendshipapp.dto.response.BaseResponse;
+import org.basak.friendshipapp.dto.response.CursorPage;
 import org.basak.friendshipapp.dto.response.MessageResponseDto;
+import org.basak.friendshipapp.entity.Conversation;
 import org.basak.friendshipapp.entity.Message;
+import org.basak.friendshipapp.service.ExportService;
+import org.basak.friendshipapp.service.MessageIngestionService;
 import org.basak.friendshipapp.service.MessageService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import static org.basak.friendshipapp.constant.EndPoints.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller sınıfı son kullanıcı ile iletişime geçiş için kullanılır. Gelen requestleri handle edeceğimiz sınıftır.
@@ -31,9 +38,14 @@ import java.util.List;
 public class MessageController {
 
     private final MessageService messageService;
+    private final MessageIngestionService messageIngestionService;
+    private final ExportService exportService;
 
-    public MessageController(MessageService messageService) {
+    public MessageController(MessageService messageService, MessageIngestionService messageIngestionService,
+                             ExportService exportService) {
         this.messageService = messageService;
+        this.messageIngestionService = messageIngestionService;
+        this.exportService = exportService;
     }
 
     /**
@@ -60,15 +72,18 @@ public class MessageController {
         return "5 mesaj kaydedildi";
     }
 
+    /**
+     * Mesajı kaydeder. Toplu alım hattı açıksa mesaj kuyruğa alınır ve yanıt, mesajın bulunduğu batch commit
+     * edildiğinde döner; kuyruk doluysa 503 döner.
+     */
     @PostMapping("/messages")
-    public ResponseEntity<BaseResponse<MessageResponseDto>> saveMessage(@RequestBody @Valid MessageRequestDto dto) {
-        MessageResponseDto savedMessage =
-                messageService.save(dto.senderId(), dto.receiverId(), dto.message(), LocalDateTime.now());
-        return ResponseEntity.ok(BaseResponse.<MessageResponseDto>builder()
-                .success(true)
-                .code(200)
-                .message("Mesaj başarıyla gönderildi.")
-                .data(savedMessage).build());
+    public CompletableFuture<ResponseEntity<BaseResponse<MessageResponseDto>>> saveMessage(@RequestBody @Valid MessageRequestDto dto) {
+        return messageIngestionService.submit(dto.senderId(), dto.receiverId(), dto.message())
+                .thenApply(savedMessage -> ResponseEntity.ok(BaseResponse.<MessageResponseDto>builder()
+                        .success(true)
+                        .code(200)
+                        .message("Mesaj başarıyla gönderildi.")
+                        .data(savedMessage).build()));
     }
     /**
      * Tüm mesajları listeler
@@ -84,6 +99,27 @@ public class MessageController {
                 .build());
     }
 
+    /**
+     * Tüm mesajları NDJSON olarak akış halinde dışa aktarır (sabit bellek, gece export işleri için)
+     * http://localhost:9090/message/export
+     * http://localhost:9090/message/export?format=dto
+     * http://localhost:9090/message/export?format=date-desc
+     */
+    @Operation(summary = "Mesajları dışa aktar", description = "Mesajları satır başına bir JSON nesnesi (NDJSON) olarak akış halinde döndürür")
+    @GetMapping(value = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMessages(
+            @Parameter(description = "response (varsayılan, /messages ile aynı alanlar), dto (/findalldtos) veya date-desc (/findallorderbydatedesc)")
+            @RequestParam(defaultValue = "response") String format) {
+        StreamingResponseBody body = switch (format) {
+            case "dto" -> exportService::exportMessageDtos;
+            case "date-desc" -> exportService::exportMessagesOrderBySendDateDesc;
+            default -> exportService::exportMessages;
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Belirli bir kullanıcının gönderdiği mesajları listeler
      * http://localhost:9090/message/findbysender?senderId=1
@@ -154,6 +190,19 @@ public class MessageController {
         return messageService.findAllByMessageContainingIgnoreCase(text);
     }
 
+    /**
+     * Kullanıcının mesajlarında tam metin arama yapar (ilgililik sırasına göre)
+     * http://localhost:9090/message/search?userId=1&query=toplantı&page=0&size=20
+     */
+    @Operation(summary = "Mesajlarda ara", description = "Kullanıcının gönderdiği ve aldığı mesajlarda tam metin arama yapar")
+    @GetMapping("/search")
+    public List<Message> searchMessages(@RequestParam Long userId,
+                                        @RequestParam String query,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "20") int size) {
+        return messageService.searchMessages(userId, query, page, size);
+    }
+
     /**
      * Belirli bir metni içermeyen mesajları listeler
      * http://localhost:9090/message/findbynotcontaining?text=toplantı
@@ -172,6 +221,25 @@ public class MessageController {
         return messageService.findConversation(user1Id, user2Id);
     }
 
+    /**
+     * İki kullanıcı arasındaki konuşmayı en yeni mesajlardan geriye doğru sayfalı listeler
+     * http://localhost:9090/message/conversation?user1Id=1&user2Id=2&size=50&cursor=...
+     */
+    @Operation(summary = "Sayfalı konuşma geçmişi", description = "Konuşmayı en yeniden eskiye doğru, imleç ile sayfalayarak getirir")
+    @GetMapping("/conversation")
+    public ResponseEntity<BaseResponse<CursorPage<Message>>> getConversationPage(
+            @RequestParam Long user1Id,
+            @RequestParam Long user2Id,
+            @Parameter(description = "Bir önceki sayfanın nextCursor değeri") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(BaseResponse.<CursorPage<Message>>builder()
+                .success(true)
+                .code(200)
+                .message("Konuşma başarıyla getirildi.")
+                .data(messageService.getConversationPage(user1Id, user2Id, cursor, size))
+                .build());
+    }
+
     /**
      * Her konuşma için en son mesajı listeler
      * http://localhost:9090/message/findlatestperconversation
@@ -181,6 +249,16 @@ public class MessageController {
         return messageService.findLatestMessagePerConversation();
     }
 
+    /**
+     * Bir kullanıcının konuşmalarını son mesaj tarihine göre listeler (gelen kutusu)
+     * http://localhost:9090/message/inbox?userId=1&limit=20
+     */
+    @Operation(summary = "Gelen kutusu", description = "Kullanıcının konuşmalarını son mesaj ve okunmamış sayılarıyla listeler")
+    @GetMapping("/inbox")
+    public List<Conversation> getInbox(@RequestParam Long userId, @RequestParam(defaultValue = "20") int limit) {
+        return messageService.getInbox(userId, Math.min(Math.max(limit, 1), 100));
+    }
+
     /**
      * Tüm mesajları DTO formatında listeler
      * http://localhost:9090/message/findalldtos
@@ -211,16 +289,32 @@ public class MessageController {
     }
 
     /**
-     * Bir kullanıcının tüm mesajlarını okundu olarak işaretler
+     * Bir kullanıcının tüm mesajlarını (veya tek bir konuşmadaki mesajlarını) okundu olarak işaretler
      * http://localhost:9090/message/markallasread?receiverId=1
+     * http://localhost:9090/message/markallasread?receiverId=1&otherUserId=2&upToMessageId=40
      */
     @Operation(summary = "Tüm mesajları okundu olarak işaretle", description = "Bir kullanıcının tüm mesajlarını okundu olarak işaretler")
     @GetMapping("/markallasread")
     public String markAllAsRead(
-            @Parameter(description = "Alıcı kullanıcının ID'si") Long receiverId) {
-        messageService.markAllAsRead(receiverId);
-        return "Tüm mesajlar okundu olarak işaretlendi";
+            @Parameter(description = "Alıcı kullanıcının ID'si") Long receiverId,
+            @Parameter(description = "Yalnızca bu kullanıcıyla olan konuşma (opsiyonel)") @RequestParam(required = false) Long otherUserId,
+            @Parameter(description = "Bu mesaj id'sine kadar (opsiyonel, otherUserId ile)") @RequestParam(required = false) Long upToMessageId) {
+        int updated = otherUserId == null
+                ? messageService.markAllAsRead(receiverId)
+                : messageService.markConversationAsRead(receiverId, otherUserId, upToMessageId);
+        return updated + " mesaj okundu olarak işaretlendi";
     }
+    /**
+     * Bir kullanıcının okunmamış mesaj sayısını getirir (bildirim rozeti için)
+     * http://localhost:9090/message/countunread?receiverId=1
+     */
+    @Operation(summary = "Okunmamış mesaj sayısı", description = "Kullanıcının okunmamış mesaj sayısını bellekteki sayaçtan döndürür")
+    @GetMapping("/countunread")
+    public Long countUnreadMessagesByReceiverId(
+            @Parameter(description = "Alıcı kullanıcının ID'si") @RequestParam Long receiverId) {
+        return messageService.countUnreadMessagesByReceiverId(receiverId);
+    }
+
     /**
      * Son 24 saat içinde gönderilen mesajları sayar
      * http://localhost:9090/message/countlast24hours
@@ -230,4 +324,17 @@ public class MessageController {
     public Long countMessagesInLast24Hours() {
         return messageService.countMessagesInLast24Hours();
     }
-}
\ No newline at end of file
+
+    /**
+     * Son N dakikada gönderilen mesaj sayısı (bellekteki kayan pencere sayacından, en fazla 24 saat)
+     * http://localhost:9090/message/countwindow?windowMinutes=5
+     * http://localhost:9090/message/countwindow?windowMinutes=60&senderId=1
+     */
+    @Operation(summary = "Pencere içindeki mesaj sayısı", description = "Son N dakikada gönderilen mesaj sayısını döndürür; senderId ile gönderen bazında (en fazla 60 dk)")
+    @GetMapping("/countwindow")
+    public Long countMessagesInWindow(
+            @Parameter(description = "Pencere uzunluğu (dakika)") @RequestParam(defaultValue = "60") int windowMinutes,
+            @Parameter(description = "Gönderen kullanıcının ID'si (opsiyonel)") @RequestParam(required = false) Long senderId) {
+        return messageService.countMessagesInWindow(windowMinutes, senderId);
+    }
+}
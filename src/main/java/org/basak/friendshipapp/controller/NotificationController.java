@@ -0,0 +1,37 @@
+package org.basak.friendshipapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.basak.friendshipapp.notification.NotificationService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.basak.friendshipapp.constant.EndPoints.NOTIFICATION;
+
+/**
+ * Anlık bildirim akışı (Server-Sent Events). İstemci bağlantıyı açık tutar; yeni mesaj, okundu bilgisi ve takip
+ * istekleri gerçekleştiği anda bu akıştan gelir.
+ *
+ * erişim: http://localhost:9090/v1/dev/notification/stream?userId=1
+ */
+@RestController
+@RequestMapping(NOTIFICATION)
+@Tag(name = "Notification API", description = "Anlık bildirimler için API")
+public class NotificationController {
+    private final NotificationService notificationService;
+
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Operation(summary = "Bildirim akışına bağlan", description = "Kullanıcının bildirimlerini SSE ile anlık olarak iletir")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@Parameter(description = "Bağlanan kullanıcının ID'si") @RequestParam Long userId) {
+        return notificationService.subscribe(userId);
+    }
+}
@@ -7,11 +7,16 @@ import org.basak.friendshipapp.dto.request.UserUpdateRequestDto;
 import org.basak.friendshipapp.dto.response.BaseResponse;
 import org.basak.friendshipapp.dto.response.GetAllUsersResponseDto;
 import org.basak.friendshipapp.dto.response.RegisterResponseDto;
+import org.basak.friendshipapp.dto.response.UserSearchResponseDto;
 import org.basak.friendshipapp.entity.Gender;
 import org.basak.friendshipapp.entity.User;
+import org.basak.friendshipapp.search.UsernameMatchMode;
+import org.basak.friendshipapp.service.ExportService;
 import org.basak.friendshipapp.service.UserService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import static org.basak.friendshipapp.constant.EndPoints.*;
 
@@ -19,9 +24,11 @@ import static org.basak.friendshipapp.constant.EndPoints.*;
 @RequestMapping(USER)
 public class UserController {
     private final UserService userService;
+    private final ExportService exportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ExportService exportService) {
         this.userService = userService;
+        this.exportService = exportService;
     }
 
     /**
@@ -49,6 +56,17 @@ public class UserController {
         return userService.findAll();
     }
 
+    /**
+     * Tüm kullanıcıları NDJSON olarak akış halinde dışa aktarır (sabit bellek, gece export işleri için)
+     * http://localhost:9090/v1/dev/user/export
+     */
+    @GetMapping(value = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportUsers);
+    }
+
     @GetMapping("/find-all-female")
     public List<User> findAllFemaleUser() {
         return userService.findAllFemaleUser();
@@ -138,6 +156,17 @@ public class UserController {
         return userService.findAllByUsernameContains();
     }
 
+    /**
+     * Tek kullanıcı adı arama uç noktası (typeahead dahil), bellek içi önek + trigram indeksi üzerinden
+     * http://localhost:9090/user/search-username?q=ay&mode=AUTO&limit=10
+     */
+    @GetMapping("/search-username")
+    public ResponseEntity<List<UserSearchResponseDto>> searchUsernames(@RequestParam String q,
+                                                                       @RequestParam(defaultValue = "AUTO") UsernameMatchMode mode,
+                                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.searchUsernames(q, mode, Math.min(Math.max(limit, 1), 50)));
+    }
+
     @GetMapping("/search-not")
     public List<User> findAllByUsernameNotContains() {
         return userService.findAllByUsernameNotContains();
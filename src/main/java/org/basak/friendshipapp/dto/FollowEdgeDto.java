@@ -0,0 +1,7 @@
+package org.basak.friendshipapp.dto;
+
+/**
+ * OK statüsündeki bir takip ilişkisinin yalnızca uç noktalarını taşır (takip grafiği yüklenirken kullanılır).
+ */
+public record FollowEdgeDto(Long followerId, Long followeeId) {
+}
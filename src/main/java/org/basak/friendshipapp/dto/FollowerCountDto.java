@@ -0,0 +1,7 @@
+package org.basak.friendshipapp.dto;
+
+/**
+ * Bir kullanıcının OK durumundaki takipçi sayısı (liderlik tablosunun açılış yüklemesi için).
+ */
+public record FollowerCountDto(Long userId, Long followerCount) {
+}
@@ -0,0 +1,8 @@
+package org.basak.friendshipapp.dto;
+
+/**
+ * Bir alıcının, belirli bir göndericiden gelen okunmamış mesaj sayısı (tümünü okundu işaretlerken okundu bilgisini
+ * gönderici başına yayınlamak için).
+ */
+public record SenderUnreadCountDto(Long senderId, Long unreadCount) {
+}
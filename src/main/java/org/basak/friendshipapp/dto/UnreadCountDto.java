@@ -0,0 +1,7 @@
+package org.basak.friendshipapp.dto;
+
+/**
+ * Bir alıcının okunmamış mesaj sayısı (okunmamış sayaç mutabakatının gruplu COUNT sorgusu için).
+ */
+public record UnreadCountDto(Long receiverId, Long unreadCount) {
+}
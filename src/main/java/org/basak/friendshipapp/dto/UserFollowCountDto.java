@@ -0,0 +1,7 @@
+package org.basak.friendshipapp.dto;
+
+/**
+ * Sayaç mutabakatı için kullanıcının yalnızca takipçi/takip sayılarını taşır.
+ */
+public record UserFollowCountDto(Long id, Integer followerCount, Integer followingCount) {
+}
@@ -0,0 +1,37 @@
+package org.basak.friendshipapp.dto.response;
+
+import org.basak.friendshipapp.util.CursorCodec;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) sayfalama sonucu. nextCursor istemci için opaktır; bir sonraki sayfa için aynen geri gönderilir.
+ * Son sayfada nextCursor null döner.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+
+    /**
+     * Repository'den size+1 kayıt istenir; fazladan gelen kayıt bir sonraki sayfanın varlığını gösterir.
+     *
+     * @param rows  size+1 limitli sorgunun sonucu
+     * @param size  istenen sayfa boyutu
+     * @param keyOf imlece yazılacak seek anahtarı (ör. follow id)
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> keyOf) {
+        return withCursor(rows, size, row -> CursorCodec.encode(keyOf.apply(row)));
+    }
+
+    /**
+     * {@link #of} ile aynı, imleç bileşik anahtarlar için doğrudan kodlanmış olarak verilir
+     *
+     * @param cursorOf sayfanın son kaydından bir sonraki sayfanın imlecini üretir (ör. CursorCodec.encode(tarih, id))
+     */
+    public static <T> CursorPage<T> withCursor(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)), true);
+    }
+}
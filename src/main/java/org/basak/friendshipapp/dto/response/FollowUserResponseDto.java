@@ -0,0 +1,8 @@
+package org.basak.friendshipapp.dto.response;
+
+/**
+ * Takipçi/takip edilen listelerinde tam User entity'si yerine dönen hafif projeksiyon. followId, takipten çıkma gibi
+ * işlemler için istemciye döner.
+ */
+public record FollowUserResponseDto(Long followId, Long userId, String username, String profilePic) {
+}
@@ -0,0 +1,4 @@
+package org.basak.friendshipapp.dto.response;
+
+public record LeaderboardEntryDto(int rank, Long userId, String username, String profilePic, long followerCount) {
+}
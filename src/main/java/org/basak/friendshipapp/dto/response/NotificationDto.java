@@ -0,0 +1,13 @@
+package org.basak.friendshipapp.dto.response;
+
+import org.basak.friendshipapp.notification.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bağlı kullanıcılara SSE ile gönderilen bildirim. unreadDelta, alıcının okunmamış mesaj sayısındaki değişimdir;
+ * istemci rozeti /countunread sorgulamadan günceller.
+ */
+public record NotificationDto(NotificationType type, Long fromUserId, Long messageId, Long followId,
+                              int unreadDelta, LocalDateTime createdAt) {
+}
@@ -0,0 +1,4 @@
+package org.basak.friendshipapp.dto.response;
+
+public record UserSearchResponseDto(Long id, String username) {
+}
@@ -0,0 +1,24 @@
+package org.basak.friendshipapp.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Id alanının {@link ConfigurableSequenceGenerator} ile üretileceğini belirtir. {@code allocationSize} varsayılandır;
+ * {@code spring.jpa.properties.friendship.id.allocation-size.<name>} ayarı varsa o kullanılır.
+ */
+@IdGeneratorType(ConfigurableSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ConfigurableSequence {
+    //veritabanındaki sequence adı
+    String name();
+
+    int allocationSize();
+}
@@ -0,0 +1,40 @@
+package org.basak.friendshipapp.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Tahsis boyutu (increment_size) yapılandırmadan okunabilen sequence generator'ı; id alanlarına
+ * {@link ConfigurableSequence} ile bağlanır. JPA'nın {@code allocationSize} değeri derleme zamanı sabiti olduğu için
+ * sequence başına boyut {@code spring.jpa.properties.friendship.id.allocation-size.<sequence>} ayarından alınır; ayar
+ * yoksa annotation'daki varsayılan kullanılır. Sequence'in veritabanındaki artış miktarı da bu değerle oluşturulur;
+ * mevcut bir sequence için değer değiştirilecekse {@code ALTER SEQUENCE ... INCREMENT BY} ile eşitlenmelidir, aksi
+ * halde Hibernate açılışta uyumsuzluk hatası verir.
+ */
+public class ConfigurableSequenceGenerator extends SequenceStyleGenerator {
+    public static final String ALLOCATION_SIZE_PREFIX = "friendship.id.allocation-size.";
+
+    private final String sequenceName;
+    private final int defaultAllocationSize;
+
+    public ConfigurableSequenceGenerator(ConfigurableSequence config) {
+        this.sequenceName = config.name();
+        this.defaultAllocationSize = config.allocationSize();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object configured = serviceRegistry.requireService(ConfigurationService.class).getSettings()
+                .get(ALLOCATION_SIZE_PREFIX + sequenceName);
+        int allocationSize = configured == null || configured.toString().isBlank()
+                ? defaultAllocationSize : Integer.parseInt(configured.toString().trim());
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM, Integer.toString(allocationSize));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
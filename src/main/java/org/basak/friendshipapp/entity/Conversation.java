@@ -0,0 +1,41 @@
+package org.basak.friendshipapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * İki kullanıcı arasındaki konuşma. Kullanıcı çifti kanonik olarak (küçük id, büyük id) şeklinde tutulur, böylece
+ * A->B ve B->A mesajları aynı konuşmaya düşer. Son mesaj ve her iki taraf için okunmamış mesaj sayısı burada
+ * tutulur; gelen kutusu ve "konuşma başına son mesaj" sorguları mesaj tablosunu taramaz.
+ */
+@Data //@ToString, @EqualsAndHashCode, @Getter, @Setter, @RequiredArgsConstructor
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_conversation",
+        indexes = {
+                @Index(name = "idx_conversation_low_last_date", columnList = "user_low_id, last_message_date"),
+                @Index(name = "idx_conversation_high_last_date", columnList = "user_high_id, last_message_date")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_conversation_users", columnNames = {"user_low_id", "user_high_id"})
+        })
+public class Conversation {
+    //konuşmalar yalnızca native "INSERT ... ON CONFLICT DO NOTHING" ile tek tek oluşturulur (batch yok), bu yüzden
+    //IDENTITY kalır; sequence + pooled-lo, Hibernate dışı nextval çağrılarıyla çakışırdı
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+    Long userLowId;
+    Long userHighId;
+    Long lastMessageId;
+    LocalDateTime lastMessageDate;
+    Integer unreadCountLow;  //userLowId'nin okumadığı mesaj sayısı
+    Integer unreadCountHigh; //userHighId'nin okumadığı mesaj sayısı
+}
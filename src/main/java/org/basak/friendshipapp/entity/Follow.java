@@ -6,15 +6,26 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import static org.basak.friendshipapp.constant.IdAllocation.*;
+
 @Data //@ToString, @EqualsAndHashCode, @Getter, @Setter, @RequiredArgsConstructor
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_follow")
+@Table(name = "tbl_follow",
+        indexes = {
+                // sorgu + keyset sayfalama (status filtresi, id ile seek) aynı index üzerinden
+                @Index(name = "idx_follow_followee_status_id", columnList = "followee_id, status, id"),
+                @Index(name = "idx_follow_follower_status_id", columnList = "follower_id, status, id")
+        },
+        uniqueConstraints = {
+                // iki kullanıcı arasında tek bir takip satırı olur, durum değişiklikleri bu satır üzerinde yapılır
+                @UniqueConstraint(name = "uk_follow_follower_followee", columnNames = {"follower_id", "followee_id"})
+        })
 public class Follow {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ConfigurableSequence(name = FOLLOW_SEQUENCE, allocationSize = FOLLOW_ALLOCATION_SIZE)
     Long id;
     Long followerId; //takip eden id
     Long followeeId; //takip edilen id
@@ -8,19 +8,32 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+import static org.basak.friendshipapp.constant.IdAllocation.*;
+
 @Data //@ToString, @EqualsAndHashCode, @Getter, @Setter, @RequiredArgsConstructor
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_message")
+@Table(name = "tbl_message",
+        indexes = {
+                @Index(name = "idx_message_receiver_read", columnList = "receiver_id, read"),
+                @Index(name = "idx_message_sender_receiver_date", columnList = "sender_id, receiver_id, send_date"),
+                @Index(name = "idx_message_send_date", columnList = "send_date"),
+                //konuşma sayfalama ve "şu mesaja kadar okundu" için (send_date, id) seek anahtarı; id'ler node başına
+                //blok halinde ayrıldığından tek başına gönderim sırasını vermez
+                @Index(name = "idx_message_conversation_date_id", columnList = "conversation_id, send_date, id")
+        })
 public class Message {
+    //sequence + pooled allocator: id'ler insert'ten önce bellekte atanır, böylece Hibernate JDBC batch yapabilir
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ConfigurableSequence(name = MESSAGE_SEQUENCE, allocationSize = MESSAGE_ALLOCATION_SIZE)
     Long id;
     Long senderId;
     Long receiverId;
+    Long conversationId; //kanonik (küçük id, büyük id) kullanıcı çiftinin konuşması
     String message;
+    @Column(nullable = false) //partition anahtarı ve PK'nın parçası; persistAll boşsa kayıt anıyla doldurur
     LocalDateTime sendDate;
     Boolean read;
 }
\ No newline at end of file
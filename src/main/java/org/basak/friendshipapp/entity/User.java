@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import static org.basak.friendshipapp.constant.IdAllocation.*;
+
 @Data //@ToString, @EqualsAndHashCode, @Getter, @Setter, @RequiredArgsConstructor
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,7 +16,7 @@ import lombok.NoArgsConstructor;
 @Table(name = "tbl_user")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ConfigurableSequence(name = USER_SEQUENCE, allocationSize = USER_ALLOCATION_SIZE)
     Long id;
     @Column(unique = true, nullable = false)
     String username;
@@ -0,0 +1,14 @@
+package org.basak.friendshipapp.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bir konuşma toplu silindiğinde MessageService tarafından yayınlanır. counts, silinen mesajların son 24 saatteki
+ * dakika ve gönderen bazında sayılarıdır; mesaj oranı sayacı bunları pencereden düşer.
+ */
+public record ConversationDeletedEvent(Long conversationId, List<MinuteCount> counts) {
+
+    public record MinuteCount(LocalDateTime minute, Long senderId, long count) {
+    }
+}
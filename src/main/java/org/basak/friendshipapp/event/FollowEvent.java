@@ -0,0 +1,8 @@
+package org.basak.friendshipapp.event;
+
+/**
+ * Takip ilişkisinde bir durum değişikliği olduğunda FollowService tarafından yayınlanır. Dinleyiciler (takip grafiği
+ * indeksi vb.) bu olayı transaction commit edildikten sonra işler.
+ */
+public record FollowEvent(Long followId, Long followerId, Long followeeId, FollowEventType type) {
+}
@@ -0,0 +1,8 @@
+package org.basak.friendshipapp.event;
+
+public enum FollowEventType {
+    REQUESTED,
+    ACCEPTED,
+    REJECTED,
+    UNFOLLOWED
+}
@@ -0,0 +1,37 @@
+package org.basak.friendshipapp.event;
+
+import org.basak.friendshipapp.entity.Message;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mesaj yazma yollarında MessageService tarafından yayınlanır. unreadDelta, alıcının okunmamış mesaj sayısındaki
+ * değişimdir (okunmamış yeni mesaj +1, okundu işaretleme -n, okunmamış mesaj silme -1, konuşma silme -n).
+ * Dinleyiciler olayı commit sonrasında işler.
+ */
+public record MessageEvent(MessageEventType type, Long messageId, Long senderId, Long receiverId,
+                           LocalDateTime sendDate, int unreadDelta) {
+
+    public static MessageEvent sent(Message message) {
+        return new MessageEvent(MessageEventType.SENT, message.getId(), message.getSenderId(), message.getReceiverId(),
+                message.getSendDate(), Boolean.TRUE.equals(message.getRead()) ? 0 : 1);
+    }
+
+    public static MessageEvent read(Long receiverId, Long otherUserId, int count) {
+        return new MessageEvent(MessageEventType.READ, null, otherUserId, receiverId, null, -count);
+    }
+
+    /**
+     * Konuşma silindiğinde taraf başına bir kez yayınlanır (receiverId: okunmamış sayacı düşülecek taraf). Okundu
+     * bilgisi değildir.
+     */
+    public static MessageEvent conversationDeleted(Long receiverId, Long otherUserId, int unreadCount) {
+        return new MessageEvent(MessageEventType.CONVERSATION_DELETED, null, otherUserId, receiverId, null,
+                -unreadCount);
+    }
+
+    public static MessageEvent deleted(Message message) {
+        return new MessageEvent(MessageEventType.DELETED, message.getId(), message.getSenderId(),
+                message.getReceiverId(), message.getSendDate(), Boolean.TRUE.equals(message.getRead()) ? 0 : -1);
+    }
+}
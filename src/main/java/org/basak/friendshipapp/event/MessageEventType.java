@@ -0,0 +1,8 @@
+package org.basak.friendshipapp.event;
+
+public enum MessageEventType {
+    SENT,
+    READ,
+    DELETED,
+    CONVERSATION_DELETED
+}
@@ -11,6 +11,8 @@ import org.springframework.http.HttpStatus;
 public enum ErrorType {
     INTERNAL_SERVER_ERROR(500,"Sunucuda beklenmeyen hata", HttpStatus.INTERNAL_SERVER_ERROR),
     VALIDATION_ERROR(400,"Girilen parametreler hatalıdır. Kontrol ediniz.",HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(4001, "Sayfalama imleci geçersiz", HttpStatus.BAD_REQUEST),
+    MESSAGE_QUEUE_FULL(6001, "Mesaj kuyruğu dolu, lütfen daha sonra tekrar deneyin", HttpStatus.SERVICE_UNAVAILABLE),
     FOLLOW_USERID_NOT_FOUND(5001, "userId yanlış girildi",HttpStatus.BAD_REQUEST),
     FOLLOW_USER_CANNOT_FOLLOW_SELF(5002, "Kullanıcı kendini takip edemez", HttpStatus.BAD_REQUEST),
     FOLLOW_ALREADY_FOLLOWED(5003, "Bu kullanıcıyı zaten takip ediyorsunuz", HttpStatus.BAD_REQUEST),
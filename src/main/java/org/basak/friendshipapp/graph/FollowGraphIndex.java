@@ -0,0 +1,254 @@
+package org.basak.friendshipapp.graph;
+
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.dto.FollowEdgeDto;
+import org.basak.friendshipapp.event.FollowEvent;
+import org.basak.friendshipapp.repository.FollowRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * OK statüsündeki takip ilişkilerinin uygulama içi (in-memory) indeksi. Her kullanıcı için takipçi ve takip edilen
+ * id'leri sıralı {@code long[]} dizilerde tutulur; böylece "takip ediyor mu?", takipçi sayısı ve komşu listesi
+ * sorguları veritabanına gitmeden cevaplanır.
+ * <p>
+ * Diziler hiçbir zaman yerinde değiştirilmez (copy-on-write), okumalar kilitsizdir. Yazmalar tek bir kilit altında
+ * sıralanır ve idempotenttir; bu sayede başlangıç yüklemesi sırasında gelen olaylar kaybolmaz.
+ * <p>
+ * {@code friendship.follow-graph.enabled=false} ile kapatılabilir, bu durumda {@link #isReady()} hep false döner ve
+ * servisler repository sorgularına düşer.
+ */
+@Component
+@Slf4j
+public class FollowGraphIndex {
+    private static final long[] EMPTY = new long[0];
+
+    private final FollowRepository followRepository;
+    private final boolean enabled;
+    private final Map<Long, long[]> followers = new ConcurrentHashMap<>(); // takip edilen id -> takipçi id'leri
+    private final Map<Long, long[]> followees = new ConcurrentHashMap<>(); // takip eden id -> takip ettikleri
+    private final ReentrantLock mutationLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    public FollowGraphIndex(FollowRepository followRepository,
+                            @Value("${friendship.follow-graph.enabled:true}") boolean enabled) {
+        this.followRepository = followRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Uygulama ayağa kalktığında tüm OK takipleri tek sorguda okuyup indeksi kurar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void load() {
+        if (!enabled) {
+            log.info("Takip grafiği indeksi devre dışı.");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        mutationLock.lock();
+        try {
+            List<FollowEdgeDto> edges = followRepository.findAllOkEdges();
+            Map<Long, LongBuffer> followerBuffers = new HashMap<>();
+            Map<Long, LongBuffer> followeeBuffers = new HashMap<>();
+            for (FollowEdgeDto edge : edges) {
+                followerBuffers.computeIfAbsent(edge.followeeId(), k -> new LongBuffer()).add(edge.followerId());
+                followeeBuffers.computeIfAbsent(edge.followerId(), k -> new LongBuffer()).add(edge.followeeId());
+            }
+            followers.clear();
+            followees.clear();
+            followerBuffers.forEach((userId, buffer) -> followers.put(userId, buffer.toSortedArray()));
+            followeeBuffers.forEach((userId, buffer) -> followees.put(userId, buffer.toSortedArray()));
+            ready = true;
+            log.info("Takip grafiği indeksi yüklendi: {} ilişki, {} ms", edges.size(),
+                    System.currentTimeMillis() - start);
+        }
+        finally {
+            mutationLock.unlock();
+        }
+    }
+
+    /**
+     * Takip ilişkisi değişiklikleri commit edildikten sonra indeksi günceller.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onFollowEvent(FollowEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            case ACCEPTED -> addEdge(event.followerId(), event.followeeId());
+            case UNFOLLOWED -> removeEdge(event.followerId(), event.followeeId());
+            default -> {
+                // REQUESTED/REJECTED olayları OK grafiğini değiştirmez
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    //* followerId, followeeId'yi takip ediyor mu? (OK statüsünde)
+    public boolean isFollowing(Long followerId, Long followeeId) {
+        return Arrays.binarySearch(followees.getOrDefault(followerId, EMPTY), followeeId) >= 0;
+    }
+
+    public int followerCount(Long userId) {
+        return followers.getOrDefault(userId, EMPTY).length;
+    }
+
+    public int followeeCount(Long userId) {
+        return followees.getOrDefault(userId, EMPTY).length;
+    }
+
+    //* Takipçi id'leri (artan sırada)
+    public List<Long> followerIds(Long userId) {
+        return toList(followers.getOrDefault(userId, EMPTY));
+    }
+
+    //* Takip edilen id'ler (artan sırada)
+    public List<Long> followeeIds(Long userId) {
+        return toList(followees.getOrDefault(userId, EMPTY));
+    }
+
+    //* Karşılıklı takipleşilen id'ler: iki sıralı dizinin kesişimi, O(d1 + d2)
+    public List<Long> friendIds(Long userId) {
+        long[] in = followers.getOrDefault(userId, EMPTY);
+        long[] out = followees.getOrDefault(userId, EMPTY);
+        List<Long> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < in.length && j < out.length) {
+            if (in[i] == out[j]) {
+                result.add(in[i]);
+                i++;
+                j++;
+            }
+            else if (in[i] < out[j]) {
+                i++;
+            }
+            else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    //* Aynı paketteki hesaplayıcılar için ham diziler; dönen diziler değiştirilmemelidir.
+    long[] followersArray(Long userId) {
+        return followers.getOrDefault(userId, EMPTY);
+    }
+
+    long[] followeesArray(Long userId) {
+        return followees.getOrDefault(userId, EMPTY);
+    }
+
+    //* En az bir kullanıcıyı takip eden kullanıcıların id'leri
+    Set<Long> usersWithFollowees() {
+        return followees.keySet();
+    }
+
+    private void addEdge(Long followerId, Long followeeId) {
+        mutationLock.lock();
+        try {
+            followers.compute(followeeId, (k, arr) -> insert(arr == null ? EMPTY : arr, followerId));
+            followees.compute(followerId, (k, arr) -> insert(arr == null ? EMPTY : arr, followeeId));
+        }
+        finally {
+            mutationLock.unlock();
+        }
+    }
+
+    private void removeEdge(Long followerId, Long followeeId) {
+        mutationLock.lock();
+        try {
+            followers.computeIfPresent(followeeId, (k, arr) -> remove(arr, followerId));
+            followees.computeIfPresent(followerId, (k, arr) -> remove(arr, followeeId));
+        }
+        finally {
+            mutationLock.unlock();
+        }
+    }
+
+    private static long[] insert(long[] arr, long value) {
+        int index = Arrays.binarySearch(arr, value);
+        if (index >= 0) {
+            return arr;
+        }
+        int position = -index - 1;
+        long[] result = new long[arr.length + 1];
+        System.arraycopy(arr, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(arr, position, result, position + 1, arr.length - position);
+        return result;
+    }
+
+    private static long[] remove(long[] arr, long value) {
+        int index = Arrays.binarySearch(arr, value);
+        if (index < 0) {
+            return arr;
+        }
+        if (arr.length == 1) {
+            return null; // boş kalan anahtarı map'ten sil
+        }
+        long[] result = new long[arr.length - 1];
+        System.arraycopy(arr, 0, result, 0, index);
+        System.arraycopy(arr, index + 1, result, index, arr.length - index - 1);
+        return result;
+    }
+
+    private static List<Long> toList(long[] arr) {
+        List<Long> result = new ArrayList<>(arr.length);
+        for (long value : arr) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * Yükleme sırasında kullanılan büyüyebilen primitive dizi.
+     */
+    private static final class LongBuffer {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            int unique = 0;
+            for (int i = 0; i < result.length; i++) {
+                if (i == 0 || result[i] != result[i - 1]) {
+                    result[unique++] = result[i];
+                }
+            }
+            return unique == result.length ? result : Arrays.copyOf(result, unique);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.basak.friendshipapp.graph;
+
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.event.FollowEvent;
+import org.basak.friendshipapp.event.FollowEventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Arkadaşın arkadaşı (friend-of-friend) takip önerilerini arka planda hesaplayıp kullanıcı başına saklar.
+ * <p>
+ * Aday puanı, kullanıcının takip ettiği kişilerden kaç tanesinin adayı takip ettiğidir (ortak bağlantı sayısı).
+ * Hesaplama {@link FollowGraphIndex} üzerinde yapılır, veritabanına gidilmez. Bir takip ilişkisi değiştiğinde
+ * yalnızca etkilenen kullanıcılar (takip eden ve onun takipçileri) kirli olarak işaretlenir ve zamanlanmış iş
+ * tarafından yeniden hesaplanır. Okumalar saklanan ilk N öneriyi döner.
+ */
+@Component
+@Slf4j
+public class FollowSuggestionEngine {
+    private final FollowGraphIndex followGraphIndex;
+    private final int suggestionSize;
+    private final int maxFanout;
+    private final int refreshBatchSize;
+    private final Map<Long, long[]> suggestions = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    public FollowSuggestionEngine(FollowGraphIndex followGraphIndex,
+                                  @Value("${friendship.suggestions.size:20}") int suggestionSize,
+                                  @Value("${friendship.suggestions.max-fanout:10000}") int maxFanout,
+                                  @Value("${friendship.suggestions.refresh-batch-size:10000}") int refreshBatchSize) {
+        this.followGraphIndex = followGraphIndex;
+        this.suggestionSize = suggestionSize;
+        this.maxFanout = maxFanout;
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    /**
+     * İndeks yüklendikten sonra takip ettiği biri olan tüm kullanıcılar kirli işaretlenir; ilk hesaplama zamanlanmış
+     * iş tarafından parça parça yapılır, başlangıcı bekletmez.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void bootstrap() {
+        if (followGraphIndex.isReady()) {
+            dirtyUsers.addAll(followGraphIndex.usersWithFollowees());
+            log.info("Takip önerileri için {} kullanıcı hesaplama kuyruğuna alındı.", dirtyUsers.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(1)
+    public void onFollowEvent(FollowEvent event) {
+        if (event.type() != FollowEventType.ACCEPTED && event.type() != FollowEventType.UNFOLLOWED) {
+            return;
+        }
+        // A -> B değişti: A'nın adayları ve A üzerinden iki adım giden takipçilerinin adayları etkilenir.
+        dirtyUsers.add(event.followerId());
+        for (long followerOfFollower : followGraphIndex.followersArray(event.followerId())) {
+            dirtyUsers.add(followerOfFollower);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${friendship.suggestions.refresh-delay-ms:5000}")
+    public void refreshDirty() {
+        if (!followGraphIndex.isReady() || dirtyUsers.isEmpty()) {
+            return;
+        }
+        int processed = 0;
+        Iterator<Long> iterator = dirtyUsers.iterator();
+        while (iterator.hasNext() && processed < refreshBatchSize) {
+            Long userId = iterator.next();
+            iterator.remove();
+            suggestions.put(userId, compute(userId));
+            processed++;
+        }
+        log.debug("{} kullanıcının takip önerileri yenilendi, kuyrukta {} kaldı.", processed, dirtyUsers.size());
+    }
+
+    public boolean isReady() {
+        return followGraphIndex.isReady();
+    }
+
+    /**
+     * Puana göre azalan sırada öneri id'lerini döner. Henüz hesaplanmamış kullanıcı için bir kez hesaplanıp saklanır.
+     */
+    public List<Long> getSuggestionIds(Long userId) {
+        long[] ids = suggestions.computeIfAbsent(userId, this::compute);
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    private long[] compute(Long userId) {
+        long[] followees = followGraphIndex.followeesArray(userId);
+        Map<Long, Integer> scores = new HashMap<>();
+        for (long followee : followees) {
+            long[] candidates = followGraphIndex.followeesArray(followee);
+            if (candidates.length > maxFanout) {
+                continue; // çok yüksek dereceli hesaplar puanlamayı domine etmesin
+            }
+            for (long candidate : candidates) {
+                if (candidate != userId && Arrays.binarySearch(followees, candidate) < 0) {
+                    scores.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        // En yüksek N puanı tutan min-heap: önce puan, eşitlikte küçük id önde
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(
+                (a, b) -> a.getValue().equals(b.getValue())
+                        ? Long.compare(b.getKey(), a.getKey())
+                        : Integer.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > suggestionSize) {
+                top.poll();
+            }
+        }
+        long[] result = new long[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = top.poll().getKey();
+        }
+        return result;
+    }
+}
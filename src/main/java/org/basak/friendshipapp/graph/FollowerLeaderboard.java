@@ -0,0 +1,158 @@
+package org.basak.friendshipapp.graph;
+
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.dto.FollowerCountDto;
+import org.basak.friendshipapp.event.FollowEvent;
+import org.basak.friendshipapp.event.FollowEventType;
+import org.basak.friendshipapp.repository.FollowRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * "En çok takip edilenler" liderlik tablosu. Açılışta takip tablosu üzerinde tek bir GROUP BY ile yüklenir, sonra
+ * takip kabul/bırakma olaylarıyla (commit sonrası) artımlı güncellenir; okumalar hiçbir zaman takip tablosunu
+ * toplamaz.
+ * <p>
+ * Sıralama (takipçi sayısı azalan, id artan) takipçisi olan tüm kullanıcılar için bir skip list'te tutulur: yalnızca
+ * ilk K tutulsaydı, ilk K'daki biri takipçi kaybettiğinde yerine geçecek kullanıcıyı bulmak için yeniden tarama
+ * gerekirdi. Güncellemeler O(log n), ilk K'nın okunması O(K)'dır. K ({@code leaderboard.size}) okunabilecek en
+ * derin sırayı sınırlar.
+ * <p>
+ * Sayılar artım (+1/-1) yerine takip grafiği indeksindeki kesin takipçi sayısıyla yazılır (idempotent): yükleme
+ * sırasında gelen olaylar bekletilip görüntüden sonra yeniden uygulanır ve görüntüye zaten yansımış bir olayın
+ * tekrar uygulanması sayıyı bozmaz. Bu yüzden liderlik tablosu indekse bağlıdır; {@code friendship.follow-graph.enabled}
+ * false ise tablo hiç hazır olmaz ve servis veritabanı sorgusuna düşer.
+ */
+@Component
+@Slf4j
+public class FollowerLeaderboard {
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::followerCount).reversed()
+            .thenComparingLong(Entry::userId);
+
+    private final FollowRepository followRepository;
+    private final FollowGraphIndex followGraphIndex;
+    private final int size;
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<FollowEvent> pending = new ArrayList<>(); //yükleme sırasında gelen olaylar (writeLock ile)
+    private volatile boolean ready;
+
+    public FollowerLeaderboard(FollowRepository followRepository, FollowGraphIndex followGraphIndex,
+                               @Value("${friendship.leaderboard.size:100}") int size) {
+        this.followRepository = followRepository;
+        this.followGraphIndex = followGraphIndex;
+        this.size = Math.max(1, size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1) //takip grafiği indeksinden (@Order(0)) sonra
+    public void load() {
+        if (!followGraphIndex.isEnabled()) {
+            log.info("Takip grafiği indeksi kapalı olduğu için takipçi liderlik tablosu devre dışı.");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<FollowerCountDto> rows = followRepository.countFollowersByFollowee();
+        writeLock.lock();
+        try {
+            counts.clear();
+            ranking.clear();
+            for (FollowerCountDto row : rows) {
+                counts.put(row.userId(), row.followerCount());
+                ranking.add(new Entry(row.userId(), row.followerCount()));
+            }
+            if (!pending.isEmpty()) {
+                pending.forEach(this::apply);
+                log.info("Takipçi liderlik tablosu: yükleme sırasında gelen {} olay yeniden uygulandı", pending.size());
+                pending.clear();
+            }
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Takipçi liderlik tablosu yüklendi: {} kullanıcı, {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(1) //indeks olayı önce uygular
+    public void onFollowEvent(FollowEvent event) {
+        if (!followGraphIndex.isEnabled() || event.followeeId() == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else {
+                pending.add(event);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sıralamanın [offset, offset + limit) aralığı; ilk K ile sınırlıdır.
+     */
+    public List<Entry> top(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = Math.min(size, from + Math.max(0, limit));
+        List<Entry> page = new ArrayList<>(Math.max(0, to - from));
+        Iterator<Entry> iterator = ranking.iterator();
+        for (int i = 0; i < to && iterator.hasNext(); i++) {
+            Entry entry = iterator.next();
+            if (i >= from) {
+                page.add(entry);
+            }
+        }
+        return page;
+    }
+
+    //writeLock tutulurken çağrılır; indeks bu olayı zaten uygulamıştır
+    private void apply(FollowEvent event) {
+        if (event.type() != FollowEventType.ACCEPTED && event.type() != FollowEventType.UNFOLLOWED) {
+            return;
+        }
+        Long userId = event.followeeId();
+        long current = counts.getOrDefault(userId, 0L);
+        long updated = followGraphIndex.followerCount(userId);
+        if (updated == current) {
+            return;
+        }
+        if (current > 0) {
+            ranking.remove(new Entry(userId, current));
+        }
+        if (updated > 0) {
+            counts.put(userId, updated);
+            ranking.add(new Entry(userId, updated));
+        } else {
+            counts.remove(userId);
+        }
+    }
+
+    public record Entry(Long userId, long followerCount) {
+    }
+}
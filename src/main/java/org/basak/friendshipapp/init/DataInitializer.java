@@ -5,6 +5,8 @@ import org.basak.friendshipapp.entity.*;
 import org.basak.friendshipapp.repository.FollowRepository;
 import org.basak.friendshipapp.repository.MessageRepository;
 import org.basak.friendshipapp.repository.UserRepository;
+import org.basak.friendshipapp.service.MessageService;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
@@ -16,14 +18,17 @@ import static org.basak.friendshipapp.constant.ConsoleColors.*;
  * DataInitializer sınıfı, uygulama başlatıldığında örnek veriler oluşturur. Bu sınıf, development ortamında
  * veritabanına başlangıç verileri eklemek için kullanılır.
  * <p>
- * Özellikler: - Örnek kullanıcılar ve mesajlar oluşturur - Konsol üzerinde renkli ve animasyonlu çıktılar gösterir -
+ * Özellikler: - Örnek kullanıcılar ve mesajlar oluşturur - Konsol üzerinde renkli çıktılar gösterir (bekleme yok) -
  * Sadece dev ve default profillerde çalışır - Veritabanında zaten veri varsa, yeni veri eklemeyi atlar
+ * <p>
+ * Büyük ölçekli veri için "seed" profili ve {@link SeedDataGenerator} kullanılır.
  *
  * @author BariSD
  * @version 1.0
  */
 @Component
 @Profile({"dev", "default"})
+@DependsOn("messagePartitionManager") //mesajlar tablo partition'lara dönüştürüldükten sonra yazılsın
 //@Profile("test")
 public class DataInitializer {
 
@@ -31,17 +36,21 @@ public class DataInitializer {
     private final UserRepository userRepository;
     private final MessageRepository messageRepository;
     private final FollowRepository followRepository;
+    private final MessageService messageService;
 
     /**
      * Constructor injection ile repository'leri enjekte eder
      *
      * @param userRepository    Kullanıcı işlemleri için repository
      * @param messageRepository Mesaj işlemleri için repository
+     * @param messageService    Mesajları konuşmalarıyla birlikte kaydetmek için
      */
-    public DataInitializer(UserRepository userRepository, MessageRepository messageRepository, FollowRepository followRepository) {
+    public DataInitializer(UserRepository userRepository, MessageRepository messageRepository,
+                           FollowRepository followRepository, MessageService messageService) {
         this.userRepository = userRepository;
         this.messageRepository = messageRepository;
         this.followRepository = followRepository;
+        this.messageService = messageService;
     }
 
     /**
@@ -59,28 +68,18 @@ public class DataInitializer {
             // Başlangıç logosu - ASCII art
             printLogo();
 
-            // Animasyonlu başlangıç
-            printAnimatedText(CYAN, "Friendship App veritabanı hazırlanıyor...");
-            simulateLoading();
-
+            printColoredText(CYAN, "Friendship App veritabanı hazırlanıyor...");
             printColoredText(PURPLE, "\n⭐ Örnek veriler veritabanına ekleniyor... ⭐\n");
-            Thread.sleep(500);
 
             // Kullanıcıları oluştur ve ekle
             createAndSaveUsers();
 
-            // Kapanış animasyonu
-            Thread.sleep(500);
             printColoredText(PURPLE, "\n🎉 Örnek veriler başarıyla yüklendi! 🎉");
 
             // Kapanış logosu
             printCompletionBanner();
 
         }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("Veri yükleme işlemi kesintiye uğradı: " + e.getMessage());
-        }
         catch (Exception e) {
             System.err.println("Veri yükleme sırasında bir hata oluştu: " + e.getMessage());
             e.printStackTrace();
@@ -101,73 +100,28 @@ public class DataInitializer {
      * ASCII Logo yazdırır
      */
     private void printLogo() {
-        try {
-            String[] logo = {
-                    BLUE + "  ______    _               _     _     _           " + COLOR_RESET,
-                    BLUE + " |  ____|  (_)             | |   | |   (_)          " + COLOR_RESET,
-                    BLUE + " | |__ _ __ _  ___ _ __  __| |___| |__  _ _ __      " + COLOR_RESET,
-                    BLUE + " |  __| '__| |/ _ \\ '_ \\/ _` / __| '_ \\| | '_ \\ " + COLOR_RESET,
-                    CYAN + " | |  | |  | |  __/ | | | (_| \\__ \\ | | | | |_) | " + COLOR_RESET,
-                    CYAN + " |_|  |_|  |_|\\___|_| |_|\\__,_|___/_| |_|_| .__/  " + COLOR_RESET,
-                    CYAN + "                                          | |       " + COLOR_RESET,
-                    CYAN + "                                          |_|       " + COLOR_RESET,
-                    YELLOW + "           ☆ ☆ ☆ APP INITIALIZER ☆ ☆ ☆          " + COLOR_RESET
-            };
-
-            for (String line : logo) {
-                System.out.println(line);
-                Thread.sleep(100);
-            }
-            System.out.println();
-        }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
-    /**
-     * Animasyonlu metin yazdırır
-     *
-     * @param color Metin rengi
-     * @param text  Yazdırılacak metin
-     */
-    private void printAnimatedText(String color, String text) {
-        try {
-            for (char c : text.toCharArray()) {
-                System.out.print(color + c + COLOR_RESET);
-                Thread.sleep(50);
-            }
-            System.out.println();
-        }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
-    /**
-     * Animasyonlu yükleme göstergesi
-     */
-    private void simulateLoading() {
-        try {
-            String[] animationFrames = {"|", "/", "-", "\\"};
-            for (int i = 0; i < 20; i++) {
-                String frame = animationFrames[i % animationFrames.length];
-                System.out.print("\r" + YELLOW + "[" + frame + "] Veritabanı hazırlanıyor..." + COLOR_RESET);
-                Thread.sleep(100);
-            }
-            System.out.println();
-        }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        String[] logo = {
+                BLUE + "  ______    _               _     _     _           " + COLOR_RESET,
+                BLUE + " |  ____|  (_)             | |   | |   (_)          " + COLOR_RESET,
+                BLUE + " | |__ _ __ _  ___ _ __  __| |___| |__  _ _ __      " + COLOR_RESET,
+                BLUE + " |  __| '__| |/ _ \\ '_ \\/ _` / __| '_ \\| | '_ \\ " + COLOR_RESET,
+                CYAN + " | |  | |  | |  __/ | | | (_| \\__ \\ | | | | |_) | " + COLOR_RESET,
+                CYAN + " |_|  |_|  |_|\\___|_| |_|\\__,_|___/_| |_|_| .__/  " + COLOR_RESET,
+                CYAN + "                                          | |       " + COLOR_RESET,
+                CYAN + "                                          |_|       " + COLOR_RESET,
+                YELLOW + "           ☆ ☆ ☆ APP INITIALIZER ☆ ☆ ☆          " + COLOR_RESET
+        };
+
+        for (String line : logo) {
+            System.out.println(line);
         }
+        System.out.println();
     }
 
     /**
      * Örnek kullanıcıları oluşturur, kaydeder ve ilgili mesajları ekler
-     *
-     * @throws InterruptedException Thread.sleep() çağrısından kaynaklanabilir
      */
-    private void createAndSaveUsers() throws InterruptedException {
+    private void createAndSaveUsers() {
         User user1 = User.builder()
                 .username("ahmet")
                 .password("123456")
@@ -250,8 +204,7 @@ public class DataInitializer {
 
         List<User> users = userRepository.saveAll(Arrays.asList(user1, user2, user3, user4, user5));
 
-        // Kullanıcı ekleme animasyonu
-        printProgressBar("Kullanıcılar ekleniyor", 100);
+        printProgressBar("Kullanıcılar ekleniyor");
         printColoredText(GREEN, "✓ 3 kullanıcı veritabanına başarıyla eklendi!");
 
         // Kullanıcı detaylarını yazdır
@@ -259,7 +212,6 @@ public class DataInitializer {
         for (User user : users) {
             printColoredText(CYAN,
                     "  🧑 " + user.getUsername() + " (ID: " + user.getId() + ") - " + user.getGender() + ", " + user.getAge() + " yaş");
-            Thread.sleep(300);
         }
 
         // Kullanıcılar kaydedildikten sonra ID'lerini alabiliriz
@@ -384,66 +336,30 @@ public class DataInitializer {
      * Kapanış banner'ını yazdırır
      */
     private void printCompletionBanner() {
-        try {
-            System.out.println();
-            String[] banner = {
-                    GREEN_BOLD + "  ███████╗██╗███╗   ██╗██╗███████╗██╗  ██╗███████╗██████╗  " + COLOR_RESET,
-                    GREEN_BOLD + "  ██╔════╝██║████╗  ██║██║██╔════╝██║  ██║██╔════╝██╔══██╗ " + COLOR_RESET,
-                    GREEN_BOLD + "  █████╗  ██║██╔██╗ ██║██║███████╗███████║█████╗  ██║  ██║ " + COLOR_RESET,
-                    GREEN_BOLD + "  ██╔══╝  ██║██║╚██╗██║██║╚════██║██╔══██║██╔══╝  ██║  ██║ " + COLOR_RESET,
-                    GREEN_BOLD + "  ██║     ██║██║ ╚████║██║███████║██║  ██║███████╗██████╔╝ " + COLOR_RESET,
-                    GREEN_BOLD + "  ╚═╝     ╚═╝╚═╝  ╚═══╝╚═╝╚══════╝╚═╝  ╚═╝╚══════╝╚═════╝  " + COLOR_RESET,
-                    YELLOW_BOLD + "        Uygulama başlatıldı! Swagger: /swagger-ui.html        " + COLOR_RESET
-            };
-
-            for (String line : banner) {
-                System.out.println(line);
-                Thread.sleep(100);
-            }
-            System.out.println();
-        }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        System.out.println();
+        String[] banner = {
+                GREEN_BOLD + "  ███████╗██╗███╗   ██╗██╗███████╗██╗  ██╗███████╗██████╗  " + COLOR_RESET,
+                GREEN_BOLD + "  ██╔════╝██║████╗  ██║██║██╔════╝██║  ██║██╔════╝██╔══██╗ " + COLOR_RESET,
+                GREEN_BOLD + "  █████╗  ██║██╔██╗ ██║██║███████╗███████║█████╗  ██║  ██║ " + COLOR_RESET,
+                GREEN_BOLD + "  ██╔══╝  ██║██║╚██╗██║██║╚════██║██╔══██║██╔══╝  ██║  ██║ " + COLOR_RESET,
+                GREEN_BOLD + "  ██║     ██║██║ ╚████║██║███████║██║  ██║███████╗██████╔╝ " + COLOR_RESET,
+                GREEN_BOLD + "  ╚═╝     ╚═╝╚═╝  ╚═══╝╚═╝╚══════╝╚═╝  ╚═╝╚══════╝╚═════╝  " + COLOR_RESET,
+                YELLOW_BOLD + "        Uygulama başlatıldı! Swagger: /swagger-ui.html        " + COLOR_RESET
+        };
+
+        for (String line : banner) {
+            System.out.println(line);
         }
+        System.out.println();
     }
 
     /**
-     * İlerleme çubuğu yazdırır
+     * Tamamlanmış ilerleme çubuğu yazdırır
      *
-     * @param task       Görev açıklaması
-     * @param totalSteps Toplam adım sayısı
+     * @param task Görev açıklaması
      */
-    private void printProgressBar(String task, int totalSteps) {
-        try {
-            System.out.print(YELLOW + task + ": " + COLOR_RESET);
-
-            for (int i = 0; i <= totalSteps; i += 5) {
-                int percentage = Math.min(100, i);
-                int completed = percentage / 2;
-
-                StringBuilder progressBar = new StringBuilder("[");
-                for (int j = 0; j < 50; j++) {
-                    if (j < completed) {
-                        progressBar.append("=");
-                    }
-                    else if (j == completed) {
-                        progressBar.append(">");
-                    }
-                    else {
-                        progressBar.append(" ");
-                    }
-                }
-                progressBar.append("] ");
-                progressBar.append(percentage).append("%");
-
-                System.out.print("\r" + YELLOW + task + ": " + COLOR_RESET + progressBar);
-                Thread.sleep(20);
-            }
-            System.out.println();
-        }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private void printProgressBar(String task) {
+        System.out.println(YELLOW + task + ": " + COLOR_RESET + "[" + "=".repeat(50) + "] 100%");
     }
 
     /**
@@ -452,9 +368,8 @@ public class DataInitializer {
      * @param user1 Birinci kullanıcı
      * @param user2 İkinci kullanıcı
      * @param user3 Üçüncü kullanıcı
-     * @throws InterruptedException Thread.sleep() çağrısından kaynaklanabilir
      */
-    private void createAndSaveMessages(User user1, User user2, User user3) throws InterruptedException {
+    private void createAndSaveMessages(User user1, User user2, User user3) {
 
         LocalDateTime now = LocalDateTime.now();
 
@@ -539,14 +454,13 @@ public class DataInitializer {
                 .build();
 
 
-        List<Message> messages = messageRepository.saveAll(Arrays.asList(
+        List<Message> messages = messageService.persistAll(Arrays.asList(
                 message1, message2, message3, message4, message5,
                 message6, message7, message8, message9, message10
         ));
 
 
-        Thread.sleep(500);
-        printProgressBar("Mesajlar ekleniyor", 100);
+        printProgressBar("Mesajlar ekleniyor");
         printColoredText(GREEN, " ✓ 10 mesaj veritabanına başarıyla eklendi!");
 
 
@@ -560,7 +474,6 @@ public class DataInitializer {
                     (msg.getReceiverId().equals(user2.getId()) ? user2.getUsername() : user3.getUsername());
 
             printColoredText(CYAN, "  📩 " + senderName + " → " + receiverName + ": \"" + msg.getMessage() + "\"");
-            Thread.sleep(300);
         }
         printColoredText(CYAN, "  ... ve " + (messages.size() - 3) + " mesaj daha.");
 
@@ -0,0 +1,77 @@
+package org.basak.friendshipapp.init;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Uygulama başladığında sık kullanılan sorguların dayandığı index'lerin veritabanında olup olmadığını kontrol eder.
+ * Eksik index uygulamayı durdurmaz, yalnızca uyarı olarak loglanır (ddl-auto kapalı ortamlarda migration unutulmuşsa
+ * görünür olsun diye).
+ */
+@Component
+@Slf4j
+public class IndexHealthCheck {
+    /**
+     * tablo -> beklenen index adları. Adlar entity'lerdeki @Index/@UniqueConstraint tanımlarıyla aynı olmalıdır.
+     */
+    private static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+            "tbl_follow", List.of(
+                    "idx_follow_followee_status_id",
+                    "idx_follow_follower_status_id",
+                    "uk_follow_follower_followee"),
+            "tbl_message", List.of(
+                    "idx_message_receiver_read",
+                    "idx_message_sender_receiver_date",
+                    "idx_message_send_date",
+                    "idx_message_conversation_date_id",
+                    "idx_message_search_vector"),
+            "tbl_conversation", List.of(
+                    "idx_conversation_low_last_date",
+                    "idx_conversation_high_last_date",
+                    "uk_conversation_users"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public IndexHealthCheck(JdbcTemplate jdbcTemplate,
+                            @Value("${friendship.index-check.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int missing = 0;
+            for (Map.Entry<String, List<String>> entry : EXPECTED_INDEXES.entrySet()) {
+                Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                        "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?",
+                        String.class, entry.getKey()));
+                for (String index : entry.getValue()) {
+                    if (!existing.contains(index)) {
+                        log.warn("Eksik index: {}.{} - ilgili sorgular tam tablo taraması yapacak.", entry.getKey(), index);
+                        missing++;
+                    }
+                }
+            }
+            if (missing == 0) {
+                log.info("Index kontrolü tamamlandı, eksik index yok.");
+            }
+        }
+        catch (Exception e) {
+            log.warn("Index kontrolü yapılamadı: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.basak.friendshipapp.init;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * tbl_message tablosunu send_date'e göre aylık range partition'lara böler ve partition'ların bakımını yapar.
+ * <p>
+ * Hibernate (ddl-auto) tabloyu normal tablo olarak oluşturur; bu sınıf açılışta, başka bean'ler mesaj yazmadan önce
+ * tabloyu aynı kolonlarla (generated search_vector dahil) partitioned tabloya dönüştürür, mevcut satırları taşır ve
+ * index'leri yeniden oluşturur. Partition anahtarı primary key'e dahil olmak zorunda olduğu için PK (id, send_date)
+ * olur. Tarih aralığı sorguları (findAllBySendDateAfter/Before/Between, son 24 saat) yalnızca ilgili aylara dokunur.
+ * <p>
+ * Her gün geçmiş (history-months) ve ileriye dönük (premake-months) aylık partition'lar hazır tutulur; saklama
+ * süresini aşan aylar ayrılır (DETACH, arşiv tablosu olarak kalır) veya silinir (DROP). Açık partition aralığının
+ * dışındaki tarihler default partition'a düşer.
+ * <p>
+ * PK'ya dahil olduğu için send_date NOT NULL'dır: tüm mesaj yazma yolları MessageService.persistAll'dan geçer ve
+ * boş tarihi kayıt anıyla doldurur; dönüşüm sırasında tarihi boş eski satırlar varsa dönüşüm açık bir hatayla
+ * geri alınır.
+ * <p>
+ * Tablo Hibernate şema oluşturma (ddl-auto, import.sql) tamamlandıktan sonra dönüştürülmelidir; bu yüzden bean
+ * açıkça entityManagerFactory'ye bağımlıdır.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class MessagePartitionManager {
+    private static final String TABLE = "tbl_message";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("^" + TABLE + "_p(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int premakeMonths;
+    private final int historyMonths;
+    private final int retentionMonths;
+    private final boolean dropExpired;
+
+    public MessagePartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   @Value("${friendship.message-partitions.enabled:true}") boolean enabled,
+                                   @Value("${friendship.message-partitions.premake-months:3}") int premakeMonths,
+                                   @Value("${friendship.message-partitions.history-months:12}") int historyMonths,
+                                   @Value("${friendship.message-partitions.retention-months:0}") int retentionMonths,
+                                   @Value("${friendship.message-partitions.retention-action:DETACH}") String retentionAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.premakeMonths = Math.max(1, premakeMonths);
+        this.historyMonths = Math.max(0, historyMonths);
+        this.retentionMonths = Math.max(0, retentionMonths);
+        this.dropExpired = "DROP".equalsIgnoreCase(retentionAction);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (!isPartitioned()) {
+            transactionTemplate.executeWithoutResult(status -> convertToPartitioned());
+        }
+        maintain();
+    }
+
+    //ileriye dönük partition'lar + saklama politikası; varsayılan olarak her gece 03:00
+    @Scheduled(cron = "${friendship.message-partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        // geçmiş aylar da açılır: geriye tarihli yüklenen veri (ör. seed) default partition'a düşmesin
+        int oldest = retentionMonths > 0 ? Math.min(historyMonths, retentionMonths) : historyMonths;
+        for (int i = -oldest; i <= premakeMonths; i++) {
+            createMonthlyPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            applyRetention(current.minusMonths(retentionMonths));
+        }
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_partitioned_table p " +
+                "JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = ? AND pg_table_is_visible(c.oid)",
+                Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    private void convertToPartitioned() {
+        long start = System.currentTimeMillis();
+        Long undated = jdbcTemplate.queryForObject("SELECT count(*) FROM " + TABLE + " WHERE send_date IS NULL",
+                Long.class);
+        if (undated != null && undated > 0) {
+            throw new IllegalStateException(TABLE + " içinde send_date'i boş " + undated + " satır var; partition "
+                    + "anahtarı PK'nın parçası olduğundan dönüşümden önce doldurulmalıdır");
+        }
+        List<String> indexDefinitions = jdbcTemplate.queryForList("SELECT i.indexdef FROM pg_indexes i " +
+                "JOIN pg_class c ON c.relname = i.indexname AND c.relnamespace = to_regnamespace(i.schemaname) " +
+                "WHERE i.tablename = ? AND i.schemaname = current_schema() " +
+                "AND NOT EXISTS (SELECT 1 FROM pg_constraint k WHERE k.conindid = c.oid AND k.contype = 'p')",
+                String.class, TABLE);
+        String columns = String.join(", ", jdbcTemplate.queryForList("SELECT column_name FROM information_schema.columns " +
+                "WHERE table_name = ? AND table_schema = current_schema() AND is_generated = 'NEVER' " +
+                "ORDER BY ordinal_position", String.class, TABLE));
+        String staging = TABLE + "_partitioned";
+
+        jdbcTemplate.execute("CREATE TABLE " + staging + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING GENERATED) " +
+                "PARTITION BY RANGE (send_date)");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + staging + " DEFAULT");
+        // mevcut verinin aylarına partition açılır, böylece taşınan satırlar default partition'da kalmaz
+        List<LocalDate> months = jdbcTemplate.queryForList("SELECT DISTINCT date_trunc('month', send_date)::date FROM "
+                + TABLE, LocalDate.class);
+        for (LocalDate month : months) {
+            createMonthlyPartition(staging, YearMonth.from(month));
+        }
+        createMonthlyPartition(staging, YearMonth.now());
+        jdbcTemplate.execute("INSERT INTO " + staging + " (" + columns + ") SELECT " + columns + " FROM " + TABLE);
+        jdbcTemplate.execute("DROP TABLE " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + staging + " RENAME TO " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, send_date)");
+        // index'ler partitioned tabloda tanımlanır, PostgreSQL her partition'a otomatik uygular
+        indexDefinitions.forEach(jdbcTemplate::execute);
+        log.info("{} aylık partition'lı tabloya dönüştürüldü ({} index, {} ms)", TABLE, indexDefinitions.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void createMonthlyPartition(YearMonth month) {
+        try {
+            createMonthlyPartition(TABLE, month);
+        } catch (RuntimeException e) {
+            // default partition'da bu aya ait satır varsa PostgreSQL partition açmaya izin vermez
+            log.warn("{} için partition oluşturulamadı: {}", month, e.getMessage());
+        }
+    }
+
+    private void createMonthlyPartition(String parent, YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + "_p" + month.format(SUFFIX) + " PARTITION OF "
+                + parent + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void applyRetention(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ? AND pg_table_is_visible(p.oid)", String.class, TABLE);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+            if (dropExpired) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            log.info("Saklama süresi dolan mesaj partition'ı {}: {}", dropExpired ? "silindi" : "ayrıldı", partition);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.basak.friendshipapp.init;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Üretim ölçeğinde sentetik veri üretir: milyonlarca kullanıcı, güç yasasına (power-law) uyan takip grafı, konuşmalar
+ * ve mesajlar. Yalnızca "seed" profilinde çalışır ({@code --spring.profiles.active=seed}); parametreler
+ * application-seed.yml'deki {@code friendship.seed.*} değerleridir.
+ * <p>
+ * Kullanıcı id aralığı parçalara bölünür ve parçalar paralel worker'larda üretilir. Satırlar JDBC batch ile yazılır;
+ * sürücünün reWriteBatchedInserts ayarı batch'leri çok satırlı INSERT'lere çevirir. Id'ler bellekte atanır, bitince
+ * sequence'ler ileri alınır. Aynı seed ile aynı graf ve mesaj içerikleri üretilir (takip/mesaj id'leri worker
+ * sırasına göre değişebilir). ApplicationRunner olarak, bellekteki indeksler
+ * ApplicationReady'de yüklenmeden önce çalışır.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class SeedDataGenerator implements ApplicationRunner {
+    private static final int USERS_PER_CHUNK = 10_000;
+    private static final int MESSAGES_PER_CONVERSATION = 10;
+    private static final double PENDING_FOLLOW_RATIO = 0.05;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int userCount;
+    private final int avgDegree;
+    private final int messagesPerUser;
+    private final long seed;
+    private final int workers;
+    private final int batchSize;
+
+    private final AtomicLong followIds = new AtomicLong();
+    private final AtomicLong conversationIds = new AtomicLong();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    public SeedDataGenerator(JdbcTemplate jdbcTemplate,
+                             @Value("${friendship.seed.users:1000000}") int userCount,
+                             @Value("${friendship.seed.avg-degree:50}") int avgDegree,
+                             @Value("${friendship.seed.messages-per-user:20}") int messagesPerUser,
+                             @Value("${friendship.seed.seed:42}") long seed,
+                             @Value("${friendship.seed.workers:8}") int workers,
+                             @Value("${friendship.seed.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userCount = userCount;
+        this.avgDegree = Math.max(1, avgDegree);
+        this.messagesPerUser = Math.max(0, messagesPerUser);
+        this.seed = seed;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM tbl_user", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Veritabanında {} kullanıcı var, sentetik veri üretimi atlandı.", existing);
+            return;
+        }
+        log.info("Sentetik veri üretiliyor: {} kullanıcı, ortalama derece {}, kullanıcı başına {} mesaj, seed {}, {} worker",
+                userCount, avgDegree, messagesPerUser, seed, workers);
+        long start = System.nanoTime();
+        int chunkCount = (userCount + USERS_PER_CHUNK - 1) / USERS_PER_CHUNK;
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            long users = runPhase(pool, "Kullanıcılar", chunkCount, this::insertUsers);
+            long follows = runPhase(pool, "Takipler", chunkCount, this::insertFollows);
+            long messages = runPhase(pool, "Konuşmalar ve mesajlar", chunkCount, this::insertConversations);
+            finish();
+            report("Toplam", users + follows + messages, start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long runPhase(ExecutorService pool, String name, int chunkCount, IntFunction<Long> chunkTask) throws Exception {
+        long start = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int chunkIndex = chunk;
+            futures.add(pool.submit(() -> chunkTask.apply(chunkIndex)));
+        }
+        long rows = 0;
+        for (Future<Long> future : futures) {
+            rows += future.get();
+        }
+        report(name, rows, start);
+        return rows;
+    }
+
+    private long insertUsers(int chunk) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        SplittableRandom random = random(chunk, 1);
+        long count = 0;
+        for (long id = firstUserId(chunk); id <= lastUserId(chunk); id++) {
+            rows.add(new Object[]{id, "user" + id, "user" + id + "@seed.local", random.nextInt(2),
+                    18 + random.nextInt(50), 150 + random.nextInt(50), 45 + random.nextInt(60)});
+            count++;
+            if (rows.size() == batchSize) {
+                flush("INSERT INTO tbl_user (id, username, email, gender, age, height, weight, follower_count, " +
+                        "following_count, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, true)", rows);
+            }
+        }
+        flush("INSERT INTO tbl_user (id, username, email, gender, age, height, weight, follower_count, " +
+                "following_count, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, true)", rows);
+        return count;
+    }
+
+    /**
+     * Takip sayıları Pareto dağılımlı (alpha = 2), takip edilenler küçük id'lere doğru çarpık seçilir; böylece az
+     * sayıda kullanıcı çok takipçili olur.
+     */
+    private long insertFollows(int chunk) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        SplittableRandom random = random(chunk, 2);
+        int maxDegree = Math.min(userCount - 1, avgDegree * 50);
+        long count = 0;
+        for (long followerId = firstUserId(chunk); followerId <= lastUserId(chunk); followerId++) {
+            int degree = Math.min(maxDegree, (int) Math.round(avgDegree / 2.0 / Math.sqrt(1 - random.nextDouble())));
+            Set<Long> followees = new HashSet<>(degree * 2);
+            while (followees.size() < degree) {
+                long followeeId = 1 + Math.min(userCount - 1, (long) (Math.pow(random.nextDouble(), 3) * userCount));
+                if (followeeId != followerId) {
+                    followees.add(followeeId);
+                }
+            }
+            for (Long followeeId : followees) {
+                String status = random.nextDouble() < PENDING_FOLLOW_RATIO ? "PENDING" : "OK";
+                rows.add(new Object[]{followIds.incrementAndGet(), followerId, followeeId, status});
+                count++;
+                if (rows.size() == batchSize) {
+                    flush("INSERT INTO tbl_follow (id, follower_id, followee_id, status) VALUES (?, ?, ?, ?)", rows);
+                }
+            }
+        }
+        flush("INSERT INTO tbl_follow (id, follower_id, followee_id, status) VALUES (?, ?, ?, ?)", rows);
+        return count;
+    }
+
+    /**
+     * Her kullanıcı yalnızca kendisinden büyük id'li kullanıcılarla konuşma açar; böylece bir (küçük, büyük) çift
+     * tek bir worker tarafından üretilir ve uk_conversation_users çakışmaz. Son mesajlar okunmamış bırakılır.
+     */
+    private long insertConversations(int chunk) {
+        List<Object[]> conversationRows = new ArrayList<>(batchSize);
+        List<Object[]> messageRows = new ArrayList<>(batchSize);
+        SplittableRandom random = random(chunk, 3);
+        LocalDateTime now = LocalDateTime.now();
+        int conversationsPerUser = (messagesPerUser + MESSAGES_PER_CONVERSATION - 1) / MESSAGES_PER_CONVERSATION;
+        long count = 0;
+        for (long userId = firstUserId(chunk); userId <= lastUserId(chunk) && userId < userCount; userId++) {
+            Set<Long> partners = new HashSet<>();
+            int target = (int) Math.min(conversationsPerUser, userCount - userId);
+            while (partners.size() < target) {
+                partners.add(userId + 1 + random.nextLong(userCount - userId));
+            }
+            for (Long partnerId : partners) {
+                long conversationId = conversationIds.incrementAndGet();
+                LocalDateTime sendDate = now.minusMinutes(random.nextLong(60L * 24 * 90));
+                int unreadLow = 0;
+                int unreadHigh = 0;
+                long lastMessageId = 0;
+                for (int i = 0; i < MESSAGES_PER_CONVERSATION; i++) {
+                    boolean fromLow = random.nextBoolean();
+                    boolean read = i < MESSAGES_PER_CONVERSATION - 2 || random.nextBoolean();
+                    if (!read) {
+                        if (fromLow) {
+                            unreadHigh++;
+                        } else {
+                            unreadLow++;
+                        }
+                    }
+                    lastMessageId = messageIds.incrementAndGet();
+                    sendDate = sendDate.plusSeconds(1 + random.nextInt(3600));
+                    messageRows.add(new Object[]{lastMessageId, fromLow ? userId : partnerId, fromLow ? partnerId : userId,
+                            conversationId, "seed mesajı " + lastMessageId, Timestamp.valueOf(sendDate), read});
+                    count++;
+                    if (messageRows.size() == batchSize) {
+                        flushMessages(messageRows);
+                    }
+                }
+                conversationRows.add(new Object[]{conversationId, userId, partnerId, lastMessageId,
+                        Timestamp.valueOf(sendDate), unreadLow, unreadHigh});
+                count++;
+                if (conversationRows.size() == batchSize) {
+                    flushConversations(conversationRows);
+                }
+            }
+        }
+        flushMessages(messageRows);
+        flushConversations(conversationRows);
+        return count;
+    }
+
+    private void flushMessages(List<Object[]> rows) {
+        flush("INSERT INTO tbl_message (id, sender_id, receiver_id, conversation_id, message, send_date, read) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void flushConversations(List<Object[]> rows) {
+        flush("INSERT INTO tbl_conversation (id, user_low_id, user_high_id, last_message_id, last_message_date, " +
+                "unread_count_low, unread_count_high) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    //sayaçlar, sequence'ler ve planlayıcı istatistikleri
+    private void finish() {
+        long start = System.nanoTime();
+        jdbcTemplate.update("UPDATE tbl_user u SET follower_count = c.cnt FROM (SELECT followee_id, count(*) AS cnt " +
+                "FROM tbl_follow WHERE status = 'OK' GROUP BY followee_id) c WHERE u.id = c.followee_id");
+        jdbcTemplate.update("UPDATE tbl_user u SET following_count = c.cnt FROM (SELECT follower_id, count(*) AS cnt " +
+                "FROM tbl_follow WHERE status = 'OK' GROUP BY follower_id) c WHERE u.id = c.follower_id");
+        jdbcTemplate.execute("SELECT setval('seq_user', " + (userCount + 1L) + ", false)");
+        jdbcTemplate.execute("SELECT setval('seq_follow', " + (followIds.get() + 1) + ", false)");
+        jdbcTemplate.execute("SELECT setval('seq_message', " + (messageIds.get() + 1) + ", false)");
+        jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('tbl_conversation', 'id'), "
+                + (conversationIds.get() + 1) + ", false)");
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Sayaçlar, sequence'ler ve istatistikler güncellendi ({} ms)", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void report(String name, long rows, long startNanos) {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        log.info("{}: {} satır, {} sn, {} satır/sn", name, rows, String.format("%.1f", seconds),
+                String.format("%.0f", rows / seconds));
+    }
+
+    private SplittableRandom random(int chunk, int phase) {
+        return new SplittableRandom(seed * 31 + chunk * 7919L + phase);
+    }
+
+    private long firstUserId(int chunk) {
+        return (long) chunk * USERS_PER_CHUNK + 1;
+    }
+
+    private long lastUserId(int chunk) {
+        return Math.min((long) (chunk + 1) * USERS_PER_CHUNK, userCount);
+    }
+}
@@ -0,0 +1,186 @@
+package org.basak.friendshipapp.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.basak.friendshipapp.dto.response.CursorPage;
+import org.basak.friendshipapp.exception.FriendshipException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servis ve repository çağrılarını otomatik olarak ölçer:
+ * <ul>
+ *     <li>{@code friendship.method} (timer): metot başına süre ve çağrı sayısı; outcome=success/error, hata
+ *     FriendshipException ise error=ErrorType adı, değilse exception sınıfı. Histogram kovaları application.yml'deki
+ *     management.metrics.distribution ayarından gelir; yüzdelikler Prometheus tarafında histogram_quantile ile
+ *     hesaplanır.</li>
+ *     <li>{@code friendship.method.rows} (summary): koleksiyon, Optional, Slice ve CursorPage dönen metotlarda
+ *     dönen satır sayısı.</li>
+ * </ul>
+ * Etiketler: layer (service/repository), class, method. Metrikler /actuator/prometheus üzerinden okunur. Aynı sınıf
+ * içinden yapılan çağrılar (self-invocation) proxy'den geçmediği için ayrıca ölçülmez.
+ * <p>
+ * Metrikler (hedef sınıf, Method) başına bir kez oluşturulup önbelleğe alınır; çağrı başına anahtar string'i
+ * kurulmaz, yalnızca iki map araması yapılır.
+ */
+@Aspect
+@Component
+public class MethodMetricsAspect {
+    private static final String REPOSITORY_PACKAGE = "org.basak.friendshipapp.repository.";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry,
+                               @Value("${friendship.metrics.method-timing.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Pointcut("execution(public * org.basak.friendshipapp.service.UserService.*(..)) || " +
+            "execution(public * org.basak.friendshipapp.service.FollowService.*(..)) || " +
+            "execution(public * org.basak.friendshipapp.service.MessageService.*(..))")
+    void serviceMethods() {
+    }
+
+    @Pointcut("execution(* org.basak.friendshipapp.repository.UserRepository+.*(..)) || " +
+            "execution(* org.basak.friendshipapp.repository.FollowRepository+.*(..)) || " +
+            "execution(* org.basak.friendshipapp.repository.MessageRepository+.*(..)) || " +
+            "execution(* org.basak.friendshipapp.repository.ConversationRepository+.*(..))")
+    void repositoryMethods() {
+    }
+
+    @Around("serviceMethods()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("repositoryMethods()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        MethodMeters methodMeters = meters(joinPoint, layer);
+        long start = System.nanoTime();
+        Timer timer = methodMeters.success;
+        try {
+            Object result = joinPoint.proceed();
+            recordRows(methodMeters, result);
+            return result;
+        } catch (FriendshipException e) {
+            timer = methodMeters.error(e.getErrorType().name());
+            throw e;
+        } catch (Throwable e) {
+            timer = methodMeters.error(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodMeters meters(ProceedingJoinPoint joinPoint, String layer) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, MethodMeters> byMethod = meters.computeIfAbsent(targetClass, type -> new ConcurrentHashMap<>());
+        MethodMeters methodMeters = byMethod.get(method); //hızlı yol: yakalayan lambda oluşturulmaz
+        if (methodMeters == null) {
+            methodMeters = byMethod.computeIfAbsent(method,
+                    m -> new MethodMeters(layer, className(targetClass), m.getName()));
+        }
+        return methodMeters;
+    }
+
+    private void recordRows(MethodMeters methodMeters, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof CursorPage<?> page) {
+            rows = page.items().size();
+        } else {
+            return;
+        }
+        methodMeters.rows().record(rows);
+    }
+
+    //repository bean'leri Spring Data proxy'sidir; etiket olarak bizim repository arayüzümüzün adı kullanılır
+    private static String className(Class<?> type) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            if (candidate.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return candidate.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(type).getSimpleName();
+    }
+
+    //tek bir metodun meter'ları; başarı timer'ı baştan, hata timer'ları ve satır özeti ilk ihtiyaçta oluşturulur
+    private final class MethodMeters {
+        private final String layer;
+        private final String className;
+        private final String method;
+        private final Timer success;
+        private final Map<String, Timer> errors = new ConcurrentHashMap<>();
+        private volatile DistributionSummary rows;
+
+        private MethodMeters(String layer, String className, String method) {
+            this.layer = layer;
+            this.className = className;
+            this.method = method;
+            this.success = timer("success", "none");
+        }
+
+        private Timer error(String error) {
+            return errors.computeIfAbsent(error, key -> timer("error", key));
+        }
+
+        private DistributionSummary rows() {
+            DistributionSummary summary = rows;
+            if (summary == null) {
+                //register aynı id için mevcut meter'ı döndürür, yarışta iki kez oluşturulması sorun değil
+                summary = DistributionSummary.builder("friendship.method.rows")
+                        .description("Metodun döndürdüğü satır sayısı")
+                        .baseUnit("rows")
+                        .tag("layer", layer)
+                        .tag("class", className)
+                        .tag("method", method)
+                        .register(meterRegistry);
+                rows = summary;
+            }
+            return summary;
+        }
+
+        private Timer timer(String outcome, String error) {
+            return Timer.builder("friendship.method")
+                    .description("Servis/repository metot süresi")
+                    .tag("layer", layer)
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .tag("error", error)
+                    .register(meterRegistry);
+        }
+    }
+}
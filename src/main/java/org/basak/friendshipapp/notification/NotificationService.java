@@ -0,0 +1,197 @@
+package org.basak.friendshipapp.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.dto.response.NotificationDto;
+import org.basak.friendshipapp.event.FollowEvent;
+import org.basak.friendshipapp.event.MessageEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bağlı kullanıcılara Server-Sent Events ile anlık bildirim gönderir (yeni mesaj, okundu bilgisi, takip isteği).
+ * Bildirimler commit sonrası yayınlanan MessageEvent/FollowEvent'lerden üretilir; istemcilerin mesaj listesini ve
+ * okunmamış sayısını periyodik sorgulamasına gerek kalmaz.
+ * <p>
+ * Her bağlantının sınırlı bir çıkış kuyruğu vardır. Olay dinleyicisi yalnızca kuyruğa ekler; yazma işi küçük bir
+ * gönderici havuzunda yapılır, böylece yavaş bir istemci commit yapan thread'i bekletmez. Kuyruğu dolan (yetişemeyen)
+ * bağlantı kapatılır; istemci yeniden bağlanıp güncel durumu sorgular. Boşta bağlantılar thread tutmaz. Heartbeat de
+ * aynı kuyruktan gider; zamanlanmış görev socket'e yazmaz, yavaş bir istemci diğer @Scheduled işleri bekletmez.
+ */
+@Service
+@Slf4j
+public class NotificationService {
+    //kuyruğa eklenen heartbeat işareti; gönderilirken SSE yorum satırı ("ping") olarak yazılır
+    private static final NotificationDto HEARTBEAT = new NotificationDto(null, null, null, null, 0, null);
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService senderPool;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMs;
+
+    public NotificationService(MeterRegistry meterRegistry,
+                               @Value("${friendship.notifications.buffer-size:64}") int bufferSize,
+                               @Value("${friendship.notifications.max-connections-per-user:5}") int maxConnectionsPerUser,
+                               @Value("${friendship.notifications.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${friendship.notifications.sender-threads:4}") int senderThreads,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.timeoutMs = timeoutMs;
+        // sanal thread modunda her gönderim kendi sanal thread'inde yapılır; yavaş istemciler havuzu tüketmez
+        this.senderPool = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-sender-", 0).factory())
+                : Executors.newFixedThreadPool(Math.max(1, senderThreads));
+        Gauge.builder("friendship.notifications.connections", connectionCount, AtomicInteger::get)
+                .description("Açık SSE bildirim bağlantısı sayısı")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        Set<Connection> current = connections.get(userId);
+        if (current != null && current.size() >= maxConnectionsPerUser) {
+            // kullanıcının bağlantı sınırı dolduysa mevcut bağlantılardan biri kapatılır (ör. kapatılmış sekmeler)
+            current.stream().findFirst().ifPresent(this::close);
+        }
+        connections.compute(userId, (id, userConnections) -> {
+            Set<Connection> set = userConnections == null ? ConcurrentHashMap.newKeySet() : userConnections;
+            set.add(connection);
+            return set;
+        });
+        connectionCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(error -> remove(connection));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageEvent(MessageEvent event) {
+        switch (event.type()) {
+            case SENT -> notify(event.receiverId(), new NotificationDto(NotificationType.MESSAGE_RECEIVED,
+                    event.senderId(), event.messageId(), null, event.unreadDelta(), LocalDateTime.now()));
+            case READ -> notify(event.senderId(), new NotificationDto(NotificationType.MESSAGES_READ,
+                    event.receiverId(), null, null, 0, LocalDateTime.now()));
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowEvent(FollowEvent event) {
+        switch (event.type()) {
+            case REQUESTED -> notify(event.followeeId(), new NotificationDto(NotificationType.FOLLOW_REQUESTED,
+                    event.followerId(), null, event.followId(), 0, LocalDateTime.now()));
+            case ACCEPTED -> notify(event.followerId(), new NotificationDto(NotificationType.FOLLOW_ACCEPTED,
+                    event.followeeId(), null, event.followId(), 0, LocalDateTime.now()));
+            default -> {
+            }
+        }
+    }
+
+    public void notify(Long userId, NotificationDto notification) {
+        if (userId == null) {
+            return;
+        }
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            if (!connection.outbox().offer(notification)) {
+                log.warn("Bildirim kuyruğu doldu, bağlantı kapatılıyor: userId={}", userId);
+                close(connection);
+                continue;
+            }
+            scheduleFlush(connection);
+        }
+    }
+
+    //kopmuş bağlantıların fark edilmesi ve proxy'lerin boşta bağlantıyı kesmemesi için. Yalnızca kuyruğu boş
+    //bağlantılara ping eklenir (bekleyen bildirim zaten trafik üretir); yazma işi gönderici havuzundadır.
+    @Scheduled(fixedDelayString = "${friendship.notifications.heartbeat-ms:30000}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            if (connection.outbox().isEmpty() && connection.outbox().offer(HEARTBEAT)) {
+                scheduleFlush(connection);
+            }
+        }));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(this::close));
+        senderPool.shutdownNow();
+    }
+
+    private void scheduleFlush(Connection connection) {
+        if (connection.scheduled().compareAndSet(false, true)) {
+            senderPool.execute(() -> flush(connection));
+        }
+    }
+
+    private void flush(Connection connection) {
+        try {
+            NotificationDto notification;
+            while ((notification = connection.outbox().poll()) != null) {
+                connection.emitter().send(notification == HEARTBEAT
+                        ? SseEmitter.event().comment("ping")
+                        : SseEmitter.event().name(notification.type().name()).data(notification));
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(connection);
+            return;
+        } finally {
+            connection.scheduled().set(false);
+        }
+        // bayrak bırakılırken kuyruğa eklenen bildirim kaçmasın
+        if (!connection.outbox().isEmpty()) {
+            scheduleFlush(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        remove(connection);
+        connection.emitter().complete();
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId(), (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private record Connection(Long userId, SseEmitter emitter, BlockingQueue<NotificationDto> outbox,
+                              AtomicBoolean scheduled) {
+        Connection(Long userId, SseEmitter emitter, BlockingQueue<NotificationDto> outbox) {
+            this(userId, emitter, outbox, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.basak.friendshipapp.notification;
+
+public enum NotificationType {
+    MESSAGE_RECEIVED,   //yeni mesaj geldi
+    MESSAGES_READ,      //karşı taraf mesajları okudu (okundu bilgisi)
+    FOLLOW_REQUESTED,   //yeni takip isteği
+    FOLLOW_ACCEPTED     //takip isteği kabul edildi
+}
@@ -0,0 +1,92 @@
+package org.basak.friendshipapp.repository;
+
+import org.basak.friendshipapp.entity.Conversation;
+import org.basak.friendshipapp.entity.Message;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+    /**
+     * Kanonik kullanıcı çiftine ait konuşmayı bulur
+     */
+    Optional<Conversation> findByUserLowIdAndUserHighId(Long userLowId, Long userHighId);
+
+    /**
+     * Konuşma yoksa oluşturur; aynı anda gelen iki ilk mesaj tekil kısıt yüzünden hata almaz
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+            value = "INSERT INTO tbl_conversation (user_low_id, user_high_id, unread_count_low, unread_count_high) " +
+                    "VALUES (?1, ?2, 0, 0) ON CONFLICT (user_low_id, user_high_id) DO NOTHING")
+    int insertIfAbsent(Long userLowId, Long userHighId);
+
+    /**
+     * Yeni mesajları konuşmaya işler: son mesaj yalnızca daha yeniyse değişir, okunmamış sayaçlar atomik artar
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET " +
+            "c.lastMessageId = CASE WHEN c.lastMessageDate IS NULL OR c.lastMessageDate <= :sendDate " +
+            "THEN :messageId ELSE c.lastMessageId END, " +
+            "c.lastMessageDate = CASE WHEN c.lastMessageDate IS NULL OR c.lastMessageDate <= :sendDate " +
+            "THEN :sendDate ELSE c.lastMessageDate END, " +
+            "c.unreadCountLow = c.unreadCountLow + :unreadLow, " +
+            "c.unreadCountHigh = c.unreadCountHigh + :unreadHigh " +
+            "WHERE c.id = :conversationId")
+    int recordMessages(Long conversationId, Long messageId, LocalDateTime sendDate, int unreadLow, int unreadHigh);
+
+    /**
+     * Okunan/silinen mesajlar için okunmamış sayaçlarını azaltır (sıfırın altına inmez)
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET " +
+            "c.unreadCountLow = CASE WHEN c.unreadCountLow > :readLow THEN c.unreadCountLow - :readLow ELSE 0 END, " +
+            "c.unreadCountHigh = CASE WHEN c.unreadCountHigh > :readHigh THEN c.unreadCountHigh - :readHigh ELSE 0 END " +
+            "WHERE c.id = :conversationId")
+    int decrementUnread(Long conversationId, int readLow, int readHigh);
+
+    /**
+     * Kullanıcının tüm konuşmalarındaki okunmamış sayaçlarını sıfırlar (tümünü okundu işaretleme)
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.unreadCountLow = 0 WHERE c.userLowId = ?1")
+    int resetUnreadLow(Long userId);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.unreadCountHigh = 0 WHERE c.userHighId = ?1")
+    int resetUnreadHigh(Long userId);
+
+    /**
+     * Son mesaj silindiğinde konuşmanın son mesaj bilgisini günceller
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, c.lastMessageDate = :sendDate " +
+            "WHERE c.id = :conversationId")
+    int updateLastMessage(Long conversationId, Long messageId, LocalDateTime sendDate);
+
+    /**
+     * Gelen kutusunun iki yarısı: kullanıcının küçük / büyük id tarafında olduğu konuşmalar, son mesaj tarihine göre
+     * yeniden eskiye. Her biri kendi (user_*_id, last_message_date) indeksinde tek bir aralık taraması olarak
+     * çalışır; OR ile tek sorguda birleştirmek BitmapOr + tüm konuşmaların sıralanmasına düşer.
+     */
+    @Query("SELECT c FROM Conversation c WHERE c.userLowId = ?1 AND c.lastMessageDate IS NOT NULL " +
+            "ORDER BY c.lastMessageDate DESC")
+    List<Conversation> findInboxAsLow(Long userId, Limit limit);
+
+    @Query("SELECT c FROM Conversation c WHERE c.userHighId = ?1 AND c.lastMessageDate IS NOT NULL " +
+            "ORDER BY c.lastMessageDate DESC")
+    List<Conversation> findInboxAsHigh(Long userId, Limit limit);
+
+    /**
+     * Her konuşmanın son mesajı (konuşma tablosundan okunur, mesaj tablosunda gruplama yapılmaz)
+     */
+    @Query("SELECT m FROM Conversation c JOIN Message m ON m.id = c.lastMessageId ORDER BY c.lastMessageDate DESC")
+    List<Message> findLatestMessages();
+}
@@ -1,12 +1,17 @@
 package org.basak.friendshipapp.repository;
 
+import org.basak.friendshipapp.dto.FollowerCountDto;
+import org.basak.friendshipapp.dto.FollowEdgeDto;
+import org.basak.friendshipapp.dto.response.FollowUserResponseDto;
 import org.basak.friendshipapp.entity.Follow;
 import org.basak.friendshipapp.entity.FollowStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA, spring bootun yapısı gereği her bir interface için gerekli olan Impl sınıflarını generate ederek
@@ -37,6 +42,9 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 //* Belirli bir takip durumu kontrolü(bir user bir başka user'ı takip ediyor mu? boolean sonuç dönecek.)
     boolean existsByFollowerIdAndFolloweeIdAndStatus(Long followerId, Long followeeId, FollowStatus status);
 
+    //* İki kullanıcı arasındaki takip satırı (follower_id, followee_id tekil)
+    Optional<Follow> findByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
+
     //	## JPQL-Native SQL
 //* Bir kullanıcının tüm takipçilerini bul (OK statüsündeki)
     @Query("SELECT f FROM Follow f WHERE f.followeeId=?1 AND f.status='OK'")
@@ -66,10 +74,15 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     @Query("SELECT COUNT(f) FROM Follow f WHERE f.followerId=?1 AND f.status='OK'")
     Long takipEttigiKullaniciSayisi(Long followerId);
 
-    //* En çok takipçisi olan kullanıcıları bul
-    @Query("SELECT f.followeeId,COUNT(f) FROM Follow f WHERE f.status='OK'" +
-            " GROUP BY f.followeeId ORDER BY COUNT(f) DESC LIMIT 3")
-    List<Object[]> enCokTakipcisiOlanlar();
+    //* En çok takipçisi olan kullanıcıları bul: liderlik tablosunun açılış yüklemesi (tek GROUP BY taraması)
+    @Query("SELECT new org.basak.friendshipapp.dto.FollowerCountDto(f.followeeId, COUNT(f)) FROM Follow f " +
+            "WHERE f.status = 'OK' GROUP BY f.followeeId")
+    List<FollowerCountDto> countFollowersByFollowee();
+
+    //liderlik tablosu henüz yüklenmemişken kullanılan doğrudan sorgu
+    @Query("SELECT new org.basak.friendshipapp.dto.FollowerCountDto(f.followeeId, COUNT(f)) FROM Follow f " +
+            "WHERE f.status = 'OK' GROUP BY f.followeeId ORDER BY COUNT(f) DESC, f.followeeId")
+    List<FollowerCountDto> findMostFollowed(Limit limit);
 
 
 //* Takip önerileri - (takip ettiğin kişilerin takip ettiği ama senin takip etmediğin kişiler)
@@ -87,5 +100,48 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 			""")
     List<Long> getFollowSuggestions(Long followerId);
 
+    //* Takip grafiği indeksi için tüm OK takiplerin uç noktaları
+    @Query("SELECT new org.basak.friendshipapp.dto.FollowEdgeDto(f.followerId,f.followeeId) FROM Follow f WHERE f.status='OK'")
+    List<FollowEdgeDto> findAllOkEdges();
+
+    //* Takipçi / takip edilen id'leri (takip sırasına göre), kullanıcılar toplu olarak çözülür
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followeeId=?1 AND f.status='OK' ORDER BY f.id")
+    List<Long> findFollowerIds(Long followeeId);
+
+    @Query("SELECT f.followeeId FROM Follow f WHERE f.followerId=?1 AND f.status='OK' ORDER BY f.id")
+    List<Long> findFolloweeIds(Long followerId);
+
+    //* Takipçileri / takip edilenleri tek bir join sorgusuyla hafif DTO olarak getir
+    @Query("SELECT new org.basak.friendshipapp.dto.response.FollowUserResponseDto(f.id,u.id,u.username,u.profilePic) " +
+            "FROM Follow f JOIN User u ON u.id=f.followerId " +
+            "WHERE f.followeeId=?1 AND f.status='OK' ORDER BY f.id")
+    List<FollowUserResponseDto> findFollowerSummaries(Long followeeId);
+
+    @Query("SELECT new org.basak.friendshipapp.dto.response.FollowUserResponseDto(f.id,u.id,u.username,u.profilePic) " +
+            "FROM Follow f JOIN User u ON u.id=f.followeeId " +
+            "WHERE f.followerId=?1 AND f.status='OK' ORDER BY f.id")
+    List<FollowUserResponseDto> findFolloweeSummaries(Long followerId);
+
+//	## Keyset (seek) sayfalama: f.id < imleç, f.id azalan. Derinlik ne olursa olsun index üzerinde sabit maliyet.
+    @Query("SELECT new org.basak.friendshipapp.dto.response.FollowUserResponseDto(f.id,u.id,u.username,u.profilePic) " +
+            "FROM Follow f JOIN User u ON u.id=f.followerId " +
+            "WHERE f.followeeId=?1 AND f.status='OK' AND f.id<?2 ORDER BY f.id DESC")
+    List<FollowUserResponseDto> findFollowerPage(Long followeeId, Long beforeFollowId, Limit limit);
+
+    @Query("SELECT new org.basak.friendshipapp.dto.response.FollowUserResponseDto(f.id,u.id,u.username,u.profilePic) " +
+            "FROM Follow f JOIN User u ON u.id=f.followeeId " +
+            "WHERE f.followerId=?1 AND f.status='OK' AND f.id<?2 ORDER BY f.id DESC")
+    List<FollowUserResponseDto> findFolloweePage(Long followerId, Long beforeFollowId, Limit limit);
+
+    @Query("SELECT new org.basak.friendshipapp.dto.response.FollowUserResponseDto(f1.id,u.id,u.username,u.profilePic) " +
+            "FROM Follow f1 " +
+            "JOIN Follow f2 ON f1.followerId=f2.followeeId AND f1.followeeId=f2.followerId " +
+            "JOIN User u ON u.id=f1.followerId " +
+            "WHERE f1.followeeId=?1 AND f1.status='OK' AND f2.status='OK' AND f1.id<?2 ORDER BY f1.id DESC")
+    List<FollowUserResponseDto> findFriendPage(Long userId, Long beforeFollowId, Limit limit);
+
+    List<Follow> findAllByFolloweeIdAndStatusAndIdLessThanOrderByIdDesc(Long followeeId, FollowStatus status,
+                                                                        Long beforeFollowId, Limit limit);
+
 }
 
@@ -1,13 +1,24 @@
 package org.basak.friendshipapp.repository;
 
+import jakarta.persistence.QueryHint;
 import org.basak.friendshipapp.dto.MessageDto;
+import org.basak.friendshipapp.dto.SenderUnreadCountDto;
+import org.basak.friendshipapp.dto.UnreadCountDto;
+import org.basak.friendshipapp.dto.response.MessageResponseDto;
 import org.basak.friendshipapp.entity.Message;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
@@ -30,6 +41,23 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      * Tüm mesajları gönderilme tarihine göre tersten sıralar (en yeniden en eskiye)
      */
     List<Message> findAllByOrderBySendDateDesc();
+
+    //dışa aktarma (NDJSON) için akış sorguları: satırlar fetch size'lık parçalarla okunur, liste oluşturulmaz.
+    //Açık bir (salt okunur) transaction içinde tüketilmeli ve kapatılmalıdır.
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT m FROM Message m ORDER BY m.sendDate DESC")
+    Stream<Message> streamAllByOrderBySendDateDesc();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new org.basak.friendshipapp.dto.response.MessageResponseDto(m.senderId, m.receiverId, m.message) " +
+            "FROM Message m ORDER BY m.id")
+    Stream<MessageResponseDto> streamAllMessageResponseDtos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new org.basak.friendshipapp.dto.MessageDto(m.id, m.senderId, m.receiverId, m.message, m.sendDate) " +
+            "FROM Message m ORDER BY m.id")
+    Stream<MessageDto> streamAllMessageDtos();
     /**
      * Belirli bir kullanıcının gönderdiği tüm mesajları bulur
      */
@@ -55,6 +83,16 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      */
     List<Message> findAllByMessageNotContainingIgnoreCase(String text);
 
+    /**
+     * Tam metin arama: search_vector GIN index'i üzerinden, yalnızca kullanıcının gönderdiği/aldığı mesajlarda,
+     * ts_rank'e göre sıralı ve sayfalı sonuç döner (search_vector sütunu import.sql ile oluşturulur)
+     */
+    @Query(nativeQuery = true,
+            value = "SELECT m.* FROM tbl_message m, plainto_tsquery('simple', :query) q " +
+                    "WHERE m.search_vector @@ q AND (m.sender_id = :userId OR m.receiver_id = :userId) " +
+                    "ORDER BY ts_rank(m.search_vector, q) DESC, m.id DESC LIMIT :limit OFFSET :offset")
+    List<Message> searchMessages(Long userId, String query, int limit, int offset);
+
     /**
      * Her konuşma için en son mesajı getirir (native SQL kullanarak)
      */
@@ -65,6 +103,16 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
                     "OR (m1.sender_id = m2.receiver_id AND m1.receiver_id = m2.sender_id))")
     List<Message> findLatestMessagePerConversation();
 
+    //dakika başına mesaj sayıları (mesaj oranı sayacının açılış yüklemesi); send_date aralığı partition'ları budar
+    @Query(value = "SELECT date_trunc('minute', send_date) AS minute, count(*) AS cnt FROM tbl_message " +
+            "WHERE send_date >= :from AND send_date < :to GROUP BY 1", nativeQuery = true)
+    List<Object[]> countPerMinuteBetween(LocalDateTime from, LocalDateTime to);
+
+    //konuşmanın from sonrası mesajlarının dakika ve gönderen bazında sayıları (toplu silmede oran sayacından düşülür)
+    @Query(value = "SELECT date_trunc('minute', send_date) AS minute, sender_id, count(*) AS cnt FROM tbl_message " +
+            "WHERE conversation_id = :conversationId AND send_date >= :from GROUP BY 1, 2", nativeQuery = true)
+    List<Object[]> countPerMinuteAndSenderByConversationSince(Long conversationId, LocalDateTime from);
+
     /**
      * Son 24 saat içinde gönderilen mesajları sayar
      */
@@ -78,6 +126,13 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiverId = ?1 AND m.read = false")
     Long countUnreadMessagesByReceiverId(Long receiverId);
 
+    /**
+     * Verilen alıcıların okunmamış mesaj sayıları tek gruplu sorguyla (okunmamışı olmayan alıcılar sonuçta yer almaz)
+     */
+    @Query("SELECT new org.basak.friendshipapp.dto.UnreadCountDto(m.receiverId, COUNT(m)) FROM Message m " +
+            "WHERE m.receiverId IN :receiverIds AND m.read = false GROUP BY m.receiverId")
+    List<UnreadCountDto> countUnreadMessagesByReceiverIds(Collection<Long> receiverIds);
+
     /**
      * Tüm mesajları DTO formatında döndürür
      */
@@ -96,4 +151,66 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      * Belirli bir kullanıcının okunmamış mesajlarını bulur
      */
     List<Message> findAllByReceiverIdAndReadFalse(Long receiverId);
+
+    /**
+     * Bir konuşmanın mesajlarını tarih sırasına göre getirir (conversation_id index'i üzerinden)
+     */
+    List<Message> findAllByConversationIdOrderBySendDateAsc(Long conversationId);
+
+    /**
+     * Konuşma geçmişinin ilk (en yeni) sayfası (conversation_id, send_date, id index'i üzerinde)
+     */
+    List<Message> findAllByConversationIdOrderBySendDateDescIdDesc(Long conversationId, Limit limit);
+
+    /**
+     * Konuşma geçmişini verilen (send_date, id) anahtarından geriye doğru sayfalar. send_date üst sınırı hem index
+     * aralığını hem de taranan aylık partition'ları daraltır; eşit tarihler id ile ayrılır.
+     */
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId AND m.sendDate <= :beforeDate " +
+            "AND (m.sendDate < :beforeDate OR m.id < :beforeId) ORDER BY m.sendDate DESC, m.id DESC")
+    List<Message> findConversationPageBefore(Long conversationId, LocalDateTime beforeDate, Long beforeId, Limit limit);
+
+    /**
+     * Bir konuşmanın en son mesajını getirir
+     */
+    Optional<Message> findTopByConversationIdOrderBySendDateDescIdDesc(Long conversationId);
+
+    /**
+     * Bir kullanıcının okunmamış mesajlarının göndericilere göre dağılımı
+     */
+    @Query("SELECT new org.basak.friendshipapp.dto.SenderUnreadCountDto(m.senderId, COUNT(m)) FROM Message m " +
+            "WHERE m.receiverId = ?1 AND (m.read = false OR m.read IS NULL) GROUP BY m.senderId")
+    List<SenderUnreadCountDto> countUnreadMessagesBySender(Long receiverId);
+
+    /**
+     * Bir kullanıcının okunmamış tüm mesajlarını tek UPDATE ile okundu yapar, etkilenen satır sayısını döner
+     */
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true WHERE m.receiverId = ?1 AND (m.read = false OR m.read IS NULL)")
+    int markAllAsRead(Long receiverId);
+
+    /**
+     * Bir konuşmada kullanıcının aldığı tüm okunmamış mesajları okundu yapar
+     */
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true WHERE m.receiverId = ?1 AND m.conversationId = ?2 " +
+            "AND (m.read = false OR m.read IS NULL)")
+    int markConversationAsRead(Long receiverId, Long conversationId);
+
+    /**
+     * Bir konuşmada kullanıcının aldığı, verilen mesaja kadar ((send_date, id) sırasıyla) olan okunmamış mesajları
+     * okundu yapar
+     */
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true WHERE m.receiverId = :receiverId AND m.conversationId = :conversationId " +
+            "AND m.sendDate <= :upToDate AND (m.sendDate < :upToDate OR m.id <= :upToId) " +
+            "AND (m.read = false OR m.read IS NULL)")
+    int markConversationAsReadUpTo(Long receiverId, Long conversationId, LocalDateTime upToDate, Long upToId);
+
+    /**
+     * Bir konuşmanın tüm mesajlarını tek sorguda siler
+     */
+    @Modifying
+    @Query("DELETE FROM Message m WHERE m.conversationId = ?1")
+    int deleteAllByConversationId(Long conversationId);
 }
\ No newline at end of file
@@ -1,15 +1,23 @@
 package org.basak.friendshipapp.repository;
 
+import jakarta.persistence.QueryHint;
 import org.basak.friendshipapp.dto.UserDto;
+import org.basak.friendshipapp.dto.UserFollowCountDto;
 import org.basak.friendshipapp.dto.response.GetAllUsersResponseDto;
+import org.basak.friendshipapp.dto.response.UserSearchResponseDto;
 import org.basak.friendshipapp.entity.Gender;
 import org.basak.friendshipapp.entity.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -112,6 +120,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT new org.basak.friendshipapp.dto.response.GetAllUsersResponseDto(u.username,u.profilePic,u.gender) FROM User u")
     List<GetAllUsersResponseDto> getAllUsers();
 
+    //kullanıcı adı arama indeksinin başlangıç yüklemesi
+    @Query("SELECT new org.basak.friendshipapp.dto.response.UserSearchResponseDto(u.id,u.username) FROM User u")
+    List<UserSearchResponseDto> findAllUsernames();
+
+    //dışa aktarma (NDJSON) için akış sorgusu; açık bir salt okunur transaction içinde tüketilmeli ve kapatılmalıdır
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
+
+    //kullanıcı id Bloom filtresinin başlangıç yüklemesi
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
+
+    //takipçi/takip sayaçları: satırı okumadan veritabanında atomik olarak artırılır, eşzamanlı güncellemeler kaybolmaz.
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = COALESCE(u.followerCount, 0) + ?2 WHERE u.id = ?1")
+    int incrementFollowerCount(Long userId, int delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = COALESCE(u.followingCount, 0) + ?2 WHERE u.id = ?1")
+    int incrementFollowingCount(Long userId, int delta);
+
+    //mutabakat düzeltmesi: okunduktan sonra sayaç değiştiyse (eşzamanlı takip) güncelleme yapılmaz
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = :followerCount, u.followingCount = :followingCount " +
+            "WHERE u.id = :userId " +
+            "AND COALESCE(u.followerCount, -1) = COALESCE(:expectedFollowerCount, -1) " +
+            "AND COALESCE(u.followingCount, -1) = COALESCE(:expectedFollowingCount, -1)")
+    int updateFollowCounts(Long userId, Integer expectedFollowerCount, Integer expectedFollowingCount,
+                           int followerCount, int followingCount);
+
+    //mutabakat işi kullanıcıları id sırasıyla sayfa sayfa gezer
+    @Query("SELECT new org.basak.friendshipapp.dto.UserFollowCountDto(u.id,u.followerCount,u.followingCount) " +
+            "FROM User u WHERE u.id > ?1 ORDER BY u.id")
+    List<UserFollowCountDto> findFollowCountsAfter(Long afterId, Limit limit);
+
 
 }
 
@@ -0,0 +1,8 @@
+package org.basak.friendshipapp.search;
+
+public enum UsernameMatchMode {
+    AUTO,     // önce önek eşleşmeleri, kalan yer infix eşleşmeleriyle doldurulur (typeahead)
+    PREFIX,
+    CONTAINS,
+    SUFFIX
+}
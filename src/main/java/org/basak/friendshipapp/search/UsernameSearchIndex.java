@@ -0,0 +1,192 @@
+package org.basak.friendshipapp.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.dto.response.UserSearchResponseDto;
+import org.basak.friendshipapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Kullanıcı adı araması için bellek içi index.
+ * <ul>
+ *     <li>Önek (typeahead): küçük harfe çevrilmiş kullanıcı adlarına göre sıralı bir map üzerinde aralık taraması,
+ *     O(log n + k).</li>
+ *     <li>İçeren/biten: kullanıcı adlarının 3'lü harf grupları (trigram) için posting listeleri. Sorgunun en seyrek
+ *     trigram'ının adayları doğrulanır; tablo taranmaz.</li>
+ * </ul>
+ * Kayıt ve profil güncellemelerinde UserService tarafından güncellenir. Arama verilen süre bütçesini aşarsa o ana
+ * kadar bulunan sonuçlar döner.
+ */
+@Component
+@Slf4j
+public class UsernameSearchIndex {
+    private static final int GRAM = 3;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+    private final long budgetNanos;
+    // "kullanıcıadı\0id" -> id; aynı küçük harfli ada sahip farklı kullanıcılar ayrı anahtar alır
+    private final NavigableMap<String, Long> byName = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> usernames = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public UsernameSearchIndex(UserRepository userRepository,
+                               @Value("${friendship.username-search.budget-ms:20}") long budgetMs) {
+        this.userRepository = userRepository;
+        this.budgetNanos = budgetMs * 1_000_000;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<UserSearchResponseDto> users = userRepository.findAllUsernames();
+        users.forEach(user -> put(user.id(), user.username()));
+        ready = true;
+        log.info("Kullanıcı adı indeksi yüklendi: {} kullanıcı, {} ms", users.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Kullanıcıyı ekler veya kullanıcı adı değiştiyse eski kayıtları kaldırıp yenisini ekler
+     */
+    public void put(Long id, String username) {
+        if (id == null || username == null) {
+            return;
+        }
+        String previous = usernames.put(id, username);
+        if (username.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            String previousLower = normalize(previous);
+            byName.remove(key(previousLower, id));
+            for (String gram : grams(previousLower)) {
+                Set<Long> posting = trigrams.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                }
+            }
+        }
+        String lower = normalize(username);
+        byName.put(key(lower, id), id);
+        for (String gram : grams(lower)) {
+            trigrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    public List<UserSearchResponseDto> search(String query, UsernameMatchMode mode, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        String q = normalize(query.trim());
+        long deadline = System.nanoTime() + budgetNanos;
+        Map<Long, UserSearchResponseDto> results = new LinkedHashMap<>();
+        switch (mode) {
+            case PREFIX -> prefix(q, limit, results);
+            case CONTAINS -> infix(q, false, limit, deadline, results);
+            case SUFFIX -> infix(q, true, limit, deadline, results);
+            case AUTO -> {
+                prefix(q, limit, results);
+                if (results.size() < limit) {
+                    infix(q, false, limit, deadline, results);
+                }
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    private void prefix(String q, int limit, Map<Long, UserSearchResponseDto> results) {
+        for (Long id : byName.subMap(q, true, q + Character.MAX_VALUE, true).values()) {
+            if (results.size() >= limit) {
+                return;
+            }
+            addResult(id, results);
+        }
+    }
+
+    private void infix(String q, boolean suffixOnly, int limit, long deadline, Map<Long, UserSearchResponseDto> results) {
+        Iterable<Long> candidates = q.length() < GRAM ? byName.values() : smallestPosting(q);
+        List<UserSearchResponseDto> matches = new ArrayList<>();
+        int scanned = 0;
+        for (Long id : candidates) {
+            // kısa sorgularda tam tarama yapılır; bütçe her 256 adayda bir kontrol edilir
+            if ((++scanned & 0xFF) == 0 && System.nanoTime() > deadline) {
+                break;
+            }
+            String username = usernames.get(id);
+            if (username == null || results.containsKey(id)) {
+                continue;
+            }
+            String lower = normalize(username);
+            if (suffixOnly ? lower.endsWith(q) : lower.contains(q)) {
+                matches.add(new UserSearchResponseDto(id, username));
+                if (q.length() < GRAM && matches.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        // daha kısa kullanıcı adları sorguya daha yakın kabul edilir
+        matches.sort(Comparator.comparingInt((UserSearchResponseDto dto) -> dto.username().length())
+                .thenComparing(UserSearchResponseDto::username));
+        for (UserSearchResponseDto match : matches) {
+            if (results.size() >= limit) {
+                return;
+            }
+            results.putIfAbsent(match.id(), match);
+        }
+    }
+
+    private Set<Long> smallestPosting(String q) {
+        Set<Long> smallest = null;
+        for (String gram : grams(q)) {
+            Set<Long> posting = trigrams.get(gram);
+            if (posting == null) {
+                return Set.of(); // sorgunun bir trigram'ı hiçbir kullanıcı adında yok
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest == null ? Set.of() : smallest;
+    }
+
+    private void addResult(Long id, Map<Long, UserSearchResponseDto> results) {
+        String username = usernames.get(id);
+        if (username != null) {
+            results.putIfAbsent(id, new UserSearchResponseDto(id, username));
+        }
+    }
+
+    private static List<String> grams(String lower) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String key(String lower, Long id) {
+        return lower + KEY_SEPARATOR + id;
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
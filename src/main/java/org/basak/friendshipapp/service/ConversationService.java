@@ -0,0 +1,186 @@
+package org.basak.friendshipapp.service;
+
+import org.basak.friendshipapp.entity.Conversation;
+import org.basak.friendshipapp.entity.Message;
+import org.basak.friendshipapp.repository.ConversationRepository;
+import org.basak.friendshipapp.repository.MessageRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Kanonik kullanıcı çifti (küçük id, büyük id) üzerinden konuşmaları yönetir. Mesajlar kaydedildiğinde, okunduğunda
+ * veya silindiğinde konuşmanın son mesajı ve okunmamış sayaçları burada güncellenir.
+ */
+@Service
+public class ConversationService {
+    private final ConversationRepository conversationRepository;
+    private final MessageRepository messageRepository;
+
+    public ConversationService(ConversationRepository conversationRepository, MessageRepository messageRepository) {
+        this.conversationRepository = conversationRepository;
+        this.messageRepository = messageRepository;
+    }
+
+    /**
+     * İki kullanıcı arasındaki konuşmayı getirir, yoksa oluşturur
+     */
+    @Transactional
+    public Conversation getOrCreate(Long user1Id, Long user2Id) {
+        Long low = Math.min(user1Id, user2Id);
+        Long high = Math.max(user1Id, user2Id);
+        return conversationRepository.findByUserLowIdAndUserHighId(low, high)
+                .orElseGet(() -> {
+                    conversationRepository.insertIfAbsent(low, high);
+                    return conversationRepository.findByUserLowIdAndUserHighId(low, high).orElseThrow();
+                });
+    }
+
+    /**
+     * İki kullanıcı arasındaki konuşmayı getirir (oluşturmaz)
+     */
+    public Optional<Conversation> find(Long user1Id, Long user2Id) {
+        return conversationRepository.findByUserLowIdAndUserHighId(Math.min(user1Id, user2Id),
+                Math.max(user1Id, user2Id));
+    }
+
+    /**
+     * Kaydedilen mesajları konuşmalarına işler. Aynı konuşmaya ait mesajlar tek bir UPDATE ile yazılır.
+     */
+    @Transactional
+    public void recordMessages(List<Message> messages) {
+        Map<Long, ConversationDelta> deltas = new LinkedHashMap<>();
+        for (Message message : messages) {
+            ConversationDelta delta = deltas.computeIfAbsent(message.getConversationId(), id -> new ConversationDelta());
+            if (delta.lastMessageDate == null || !message.getSendDate().isBefore(delta.lastMessageDate)) {
+                delta.lastMessageId = message.getId();
+                delta.lastMessageDate = message.getSendDate();
+            }
+            if (!Boolean.TRUE.equals(message.getRead())) {
+                if (isLowSide(message.getReceiverId(), message.getSenderId())) {
+                    delta.unreadLow++;
+                }
+                else {
+                    delta.unreadHigh++;
+                }
+            }
+        }
+        deltas.forEach((conversationId, delta) -> conversationRepository.recordMessages(conversationId,
+                delta.lastMessageId, delta.lastMessageDate, delta.unreadLow, delta.unreadHigh));
+    }
+
+    /**
+     * Okundu olarak işaretlenen bir mesaj için alıcının okunmamış sayacını azaltır
+     */
+    @Transactional
+    public void markRead(Message message) {
+        if (message.getConversationId() == null) {
+            return;
+        }
+        boolean receiverIsLow = isLowSide(message.getReceiverId(), message.getSenderId());
+        conversationRepository.decrementUnread(message.getConversationId(), receiverIsLow ? 1 : 0, receiverIsLow ? 0 : 1);
+    }
+
+    /**
+     * Bir konuşmada receiverId'nin okuduğu mesaj sayısı kadar okunmamış sayacını azaltır
+     */
+    @Transactional
+    public void markRead(Conversation conversation, Long receiverId, int count) {
+        boolean receiverIsLow = receiverId.equals(conversation.getUserLowId());
+        conversationRepository.decrementUnread(conversation.getId(), receiverIsLow ? count : 0, receiverIsLow ? 0 : count);
+    }
+
+    /**
+     * Kullanıcının tüm konuşmalarındaki okunmamış sayaçlarını sıfırlar
+     */
+    @Transactional
+    public void markAllRead(Long receiverId) {
+        conversationRepository.resetUnreadLow(receiverId);
+        conversationRepository.resetUnreadHigh(receiverId);
+    }
+
+    /**
+     * Silinen bir mesajın konuşma üzerindeki izlerini temizler: okunmamışsa sayaç azalır, son mesajsa bir öncekine
+     * geçilir.
+     */
+    @Transactional
+    public void onMessageDeleted(Message message) {
+        if (message.getConversationId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(message.getRead())) {
+            markRead(message);
+        }
+        conversationRepository.findById(message.getConversationId())
+                .filter(conversation -> message.getId().equals(conversation.getLastMessageId()))
+                .ifPresent(conversation -> {
+                    Optional<Message> previous =
+                            messageRepository.findTopByConversationIdOrderBySendDateDescIdDesc(conversation.getId());
+                    conversationRepository.updateLastMessage(conversation.getId(),
+                            previous.map(Message::getId).orElse(null),
+                            previous.map(Message::getSendDate).orElse(null));
+                });
+    }
+
+    /**
+     * Konuşmayı ve tüm mesajlarını siler
+     */
+    @Transactional
+    public void deleteConversation(Long user1Id, Long user2Id) {
+        find(user1Id, user2Id).ifPresent(conversation -> {
+            messageRepository.deleteAllByConversationId(conversation.getId());
+            conversationRepository.delete(conversation);
+        });
+    }
+
+    /**
+     * Kullanıcının gelen kutusu (son mesaj tarihine göre). İki taraf ayrı ayrı limit kadar okunur ve sıralı
+     * birleştirilir; kullanıcının kendisiyle konuşması iki listede de bulunduğundan bir kez alınır.
+     */
+    public List<Conversation> getInbox(Long userId, int limit) {
+        List<Conversation> asLow = conversationRepository.findInboxAsLow(userId, Limit.of(limit));
+        List<Conversation> asHigh = conversationRepository.findInboxAsHigh(userId, Limit.of(limit));
+        List<Conversation> inbox = new ArrayList<>(Math.min(limit, asLow.size() + asHigh.size()));
+        int i = 0;
+        int j = 0;
+        while (inbox.size() < limit && (i < asLow.size() || j < asHigh.size())) {
+            Conversation next;
+            if (j >= asHigh.size() || (i < asLow.size()
+                    && !asLow.get(i).getLastMessageDate().isBefore(asHigh.get(j).getLastMessageDate()))) {
+                next = asLow.get(i++);
+            }
+            else {
+                next = asHigh.get(j++);
+            }
+            if (!next.getUserLowId().equals(next.getUserHighId()) || !inbox.contains(next)) {
+                inbox.add(next);
+            }
+        }
+        return inbox;
+    }
+
+    /**
+     * Her konuşmanın son mesajı
+     */
+    public List<Message> findLatestMessages() {
+        return conversationRepository.findLatestMessages();
+    }
+
+    private static boolean isLowSide(Long userId, Long otherUserId) {
+        return userId <= otherUserId;
+    }
+
+    private static final class ConversationDelta {
+        Long lastMessageId;
+        LocalDateTime lastMessageDate;
+        int unreadLow;
+        int unreadHigh;
+    }
+}
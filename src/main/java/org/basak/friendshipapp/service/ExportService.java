@@ -0,0 +1,85 @@
+package org.basak.friendshipapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.basak.friendshipapp.repository.MessageRepository;
+import org.basak.friendshipapp.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Toplu dışa aktarma (NDJSON: her satırda bir JSON nesnesi). Kayıtlar repository akışlarından fetch size'lık
+ * parçalarla okunup doğrudan çıkışa yazılır; tablo ne kadar büyük olursa olsun bellek kullanımı sabit kalır.
+ * Entity akışlarında her kayıt yazıldıktan sonra persistence context'ten ayrılır (detach). Metotlar controller'daki
+ * StreamingResponseBody içinden çağrılır; transaction yazma süresince açık kalır.
+ */
+@Service
+public class ExportService {
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(MessageRepository messageRepository, UserRepository userRepository,
+                         EntityManager entityManager, ObjectMapper objectMapper) {
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportMessages(OutputStream out) {
+        try (Stream<?> rows = messageRepository.streamAllMessageResponseDtos()) {
+            return write(rows, out, false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportMessageDtos(OutputStream out) {
+        try (Stream<?> rows = messageRepository.streamAllMessageDtos()) {
+            return write(rows, out, false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportMessagesOrderBySendDateDesc(OutputStream out) {
+        try (Stream<?> rows = messageRepository.streamAllByOrderBySendDateDesc()) {
+            return write(rows, out, true);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) {
+        try (Stream<?> rows = userRepository.streamAll()) {
+            return write(rows, out, true);
+        }
+    }
+
+    private long write(Stream<?> rows, OutputStream out, boolean detach) {
+        long count = 0;
+        try {
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object row = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+                if (detach) {
+                    entityManager.detach(row);
+                }
+                count++;
+            }
+            out.flush();
+        } catch (IOException e) {
+            // istemci bağlantıyı kapattıysa akış kapatılır, transaction geri alınır
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+}
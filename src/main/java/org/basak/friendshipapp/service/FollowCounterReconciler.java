@@ -0,0 +1,59 @@
+package org.basak.friendshipapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.dto.UserFollowCountDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * tbl_user üzerindeki followerCount/followingCount sayaçlarını takip tablosundaki gerçek değerlerle karşılaştırır
+ * ve sapma varsa düzeltir. Kullanıcılar id sırasıyla sayfa sayfa gezilir; gerçek değerler her zaman
+ * takipciSayisi / takipEttigiKullaniciSayisi COUNT sorgularından okunur. Bellekteki takip grafiği commit
+ * sonrası güncellendiğinden yeni commit edilmiş bir takibi geri alabilir ya da kendi sapmasını tabloya
+ * yazabilirdi; bu yüzden mutabakatta kullanılmaz.
+ */
+@Component
+@Slf4j
+public class FollowCounterReconciler {
+    private final UserService userService;
+    private final FollowService followService;
+    private final int pageSize;
+
+    public FollowCounterReconciler(UserService userService, FollowService followService,
+                                   @Value("${friendship.counters.reconcile-page-size:1000}") int pageSize) {
+        this.userService = userService;
+        this.followService = followService;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(initialDelayString = "${friendship.counters.reconcile-initial-delay-ms:30000}",
+            fixedDelayString = "${friendship.counters.reconcile-delay-ms:3600000}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int checked = 0;
+        int fixed = 0;
+        Long lastId = 0L;
+        List<UserFollowCountDto> page;
+        do {
+            page = userService.findFollowCountsAfter(lastId, pageSize);
+            for (UserFollowCountDto counts : page) {
+                int actualFollowers = followService.countFollowersInDb(counts.id()).intValue();
+                int actualFollowing = followService.countFolloweesInDb(counts.id()).intValue();
+                if (!Objects.equals(counts.followerCount(), actualFollowers)
+                        || !Objects.equals(counts.followingCount(), actualFollowing)) {
+                    if (userService.updateFollowCounts(counts, actualFollowers, actualFollowing)) {
+                        fixed++;
+                    }
+                }
+                lastId = counts.id();
+                checked++;
+            }
+        } while (page.size() == pageSize);
+        log.info("Takip sayaçları mutabakatı: {} kullanıcı kontrol edildi, {} düzeltildi ({} ms)",
+                checked, fixed, System.currentTimeMillis() - start);
+    }
+}
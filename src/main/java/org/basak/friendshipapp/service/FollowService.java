@@ -1,20 +1,34 @@
 package org.basak.friendshipapp.service;
 
+import org.basak.friendshipapp.dto.FollowerCountDto;
+import org.basak.friendshipapp.dto.response.CursorPage;
+import org.basak.friendshipapp.dto.response.FollowUserResponseDto;
 import org.basak.friendshipapp.dto.response.GetAllUsersResponseDto;
 import org.basak.friendshipapp.dto.response.GetMyFollowersResponseDto;
+import org.basak.friendshipapp.dto.response.LeaderboardEntryDto;
 import org.basak.friendshipapp.entity.Follow;
 import org.basak.friendshipapp.entity.FollowStatus;
 import org.basak.friendshipapp.entity.User;
+import org.basak.friendshipapp.event.FollowEvent;
+import org.basak.friendshipapp.event.FollowEventType;
 import org.basak.friendshipapp.exception.ErrorType;
 import org.basak.friendshipapp.exception.FriendshipException;
+import org.basak.friendshipapp.graph.FollowGraphIndex;
+import org.basak.friendshipapp.graph.FollowSuggestionEngine;
+import org.basak.friendshipapp.graph.FollowerLeaderboard;
 import org.basak.friendshipapp.repository.FollowRepository;
+import org.basak.friendshipapp.util.CursorCodec;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service temel işlevleri yerine getirmek için kullanılır. Gerekli gördüğü doğrulamalardan geçen bilgileri repository
@@ -22,9 +36,15 @@ import java.util.Optional;
  */
 @Service
 public class FollowService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
 
     private final FollowRepository followRepository;
     private final UserService userService;
+    private final FollowGraphIndex followGraphIndex;
+    private final FollowSuggestionEngine followSuggestionEngine;
+    private final FollowerLeaderboard followerLeaderboard;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Dependency Injection ile followRepository Bean'i enjekte ediyoruz. Burada DI'nın 2 farklı yöntemi olduğunu
@@ -35,9 +55,15 @@ public class FollowService {
      *
      * @param followRepository
      */
-    public FollowService(FollowRepository followRepository, UserService userService) {
+    public FollowService(FollowRepository followRepository, UserService userService,
+                         FollowGraphIndex followGraphIndex, FollowSuggestionEngine followSuggestionEngine,
+                         FollowerLeaderboard followerLeaderboard, ApplicationEventPublisher eventPublisher) {
         this.followRepository = followRepository;
         this.userService = userService;
+        this.followGraphIndex = followGraphIndex;
+        this.followSuggestionEngine = followSuggestionEngine;
+        this.followerLeaderboard = followerLeaderboard;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Follow> findAll() {
@@ -60,7 +86,7 @@ public class FollowService {
             throw new FriendshipException(ErrorType.FOLLOW_USER_CANNOT_FOLLOW_SELF);
         }
         //Eğer takip ediyorsa takip edemez.
-        if (followRepository.existsByFollowerIdAndFolloweeIdAndStatus(followerId, followeeId, FollowStatus.OK)) {
+        if (isFollowing(followerId, followeeId)) {
             throw new FriendshipException(ErrorType.FOLLOW_ALREADY_FOLLOWED);
         }
         if (followRepository.existsByFollowerIdAndFolloweeIdAndStatus(followerId, followeeId, FollowStatus.PENDING)) {
@@ -73,12 +99,16 @@ public class FollowService {
     public Follow saveFollow(
             Long followerId,
             Long followeeId) {
-        Follow follow = Follow.builder()
-                .followerId(followerId)
-                .followeeId(followeeId)
-                .status(FollowStatus.PENDING)
-                .build();
-        return followRepository.save(follow);
+        // (follower_id, followee_id) tekil: daha önce reddedilmiş/iptal edilmiş satır varsa yeniden PENDING yapılır
+        Follow follow = followRepository.findByFollowerIdAndFolloweeId(followerId, followeeId)
+                .orElseGet(() -> Follow.builder()
+                        .followerId(followerId)
+                        .followeeId(followeeId)
+                        .build());
+        follow.setStatus(FollowStatus.PENDING);
+        Follow savedFollow = followRepository.save(follow);
+        publish(savedFollow, FollowEventType.REQUESTED);
+        return savedFollow;
     }
 
     //    * Takip isteğini kabul etme  (logic kurgusu gerekli)
@@ -101,15 +131,9 @@ public class FollowService {
         }
 
         follow.setStatus(FollowStatus.OK);
-        User follower = userService.findById(follow.getFollowerId())
-                .orElseThrow(() -> new IllegalStateException("Takip eden user bulunamadı."));
-        User followee = userService.findById(follow.getFolloweeId())
-                .orElseThrow(() -> new IllegalStateException("Takip edilen user bulunamadı."));
-        followee.setFollowerCount(followee.getFollowerCount() + 1);
-        follower.setFollowingCount(follower.getFollowingCount() + 1);
         Follow savedFollow = followRepository.save(follow);
-        userService.save(follower);
-        userService.save(followee);
+        userService.incrementFollowCounts(follow.getFollowerId(), follow.getFolloweeId(), 1);
+        publish(savedFollow, FollowEventType.ACCEPTED);
         return savedFollow;
     }
 //    * Takip isteğini reddetme  (logic kurgusu gerekli)
@@ -127,7 +151,9 @@ public class FollowService {
         }
 
         follow.setStatus(FollowStatus.CANCELLED);
-        return followRepository.save(follow);
+        Follow savedFollow = followRepository.save(follow);
+        publish(savedFollow, FollowEventType.REJECTED);
+        return savedFollow;
     }
 
 
@@ -148,42 +174,46 @@ public class FollowService {
         }
 
         follow.setStatus(FollowStatus.CANCELLED);
-        User follower = userService.findById(follow.getFollowerId())
-                .orElseThrow(() -> new IllegalStateException("Takip eden user bulunamadı."));
-        User followee = userService.findById(follow.getFolloweeId())
-                .orElseThrow(() -> new IllegalStateException("Takip edilen user bulunamadı."));
-        followee.setFollowerCount(followee.getFollowerCount() - 1);
-        follower.setFollowingCount(follower.getFollowingCount() - 1);
         Follow savedFollow = followRepository.save(follow);
-        userService.save(follower);
-        userService.save(followee);
+        userService.incrementFollowCounts(follow.getFollowerId(), follow.getFolloweeId(), -1);
+        publish(savedFollow, FollowEventType.UNFOLLOWED);
         return savedFollow;
     }
 
 
     //			* Bir kullanıcının takipçilerini getirme  (stream olabilir.)
     public List<User> getFollowers(Long userId) {
-        List<Follow> follows = followRepository.kullanicininTumTakipcileri(userId);
-        return follows.stream()
-                .map(follow -> userService.findById(follow.getFollowerId()).orElse(null))
-                .filter(Objects::nonNull)
-                .toList();
+        List<Long> followerIds = followGraphIndex.isReady()
+                ? followGraphIndex.followerIds(userId)
+                : followRepository.findFollowerIds(userId);
+        return userService.findAllByIdInOrder(followerIds);
     }
 
 
     //    * Bir kullanıcının takip ettiği kullanıcıları getirme (stream olabilir.)
     public List<User> getFollowees(Long userId) {
-        List<Follow> follows = followRepository.kullanicininTumTakipEttikleri(userId);
-        return follows.stream()
-                .map(follow -> userService.findById(follow.getFolloweeId()).orElse(null))
-                .filter(Objects::nonNull)
-                .toList();
+        List<Long> followeeIds = followGraphIndex.isReady()
+                ? followGraphIndex.followeeIds(userId)
+                : followRepository.findFolloweeIds(userId);
+        return userService.findAllByIdInOrder(followeeIds);
+    }
+
+    //* Takipçileri hafif DTO olarak getirme (tek join sorgusu)
+    public List<FollowUserResponseDto> getFollowerSummaries(Long userId) {
+        return followRepository.findFollowerSummaries(userId);
+    }
+
+    //* Takip edilenleri hafif DTO olarak getirme (tek join sorgusu)
+    public List<FollowUserResponseDto> getFolloweeSummaries(Long userId) {
+        return followRepository.findFolloweeSummaries(userId);
     }
 
 
     //    * Karşılıklı takipleşen kullanıcıları getirme (arkadaşlar) (direkt repositoryde metod çağrımları)
     public List<User> getFriends(Long userId) {
-        List<Long> longs = followRepository.getFriends(userId);
+        List<Long> longs = followGraphIndex.isReady()
+                ? followGraphIndex.friendIds(userId)
+                : followRepository.getFriends(userId);
         return userService.findAllById(longs);
     }
 
@@ -210,27 +240,120 @@ public class FollowService {
 
     //    * Bir kullanıcının takipçi sayısını getirme (direkt repositoryde metod çağrımları)
     public Long getFollowerCount(Long userId) {
+        if (followGraphIndex.isReady()) {
+            return (long) followGraphIndex.followerCount(userId);
+        }
         return followRepository.takipciSayisi(userId);
     }
 
     //    * Bir kullanıcının takip ettiği kullanıcı sayısını getirme (direkt repositoryde metod çağrımları)
     public Long getFolloweeCount(Long userId) {
+        if (followGraphIndex.isReady()) {
+            return (long) followGraphIndex.followeeCount(userId);
+        }
         return followRepository.takipEttigiKullaniciSayisi(userId);
     }
 
-    //    * En çok takipçisi olan kullanıcıları getirme (direkt repositoryde metod çağrımları)
-    public List<Object[]> getMostFollowedUsers() {
-        return followRepository.enCokTakipcisiOlanlar();
+    //    * Sayaç mutabakatı için takipçi / takip edilen sayıları doğrudan tablodan sayılır; bellek indeksi
+    //    commit sonrası güncellendiğinden mutabakatın kaynağı olamaz
+    public Long countFollowersInDb(Long userId) {
+        return followRepository.takipciSayisi(userId);
+    }
+
+    public Long countFolloweesInDb(Long userId) {
+        return followRepository.takipEttigiKullaniciSayisi(userId);
+    }
+
+    //    * En çok takipçisi olan kullanıcıları getirme
+    //    Liderlik tablosu hazırsa bellekteki sıralamadan okunur (O(K)); sayfalama ilk K ile sınırlıdır.
+    public List<LeaderboardEntryDto> getMostFollowedUsers(int page, int size) {
+        int limit = Math.min(Math.max(size, 1), followerLeaderboard.getSize());
+        int offset = Math.max(page, 0) * limit;
+        List<FollowerCountDto> rows;
+        if (followerLeaderboard.isReady()) {
+            rows = followerLeaderboard.top(offset, limit).stream()
+                    .map(entry -> new FollowerCountDto(entry.userId(), entry.followerCount()))
+                    .toList();
+        } else if (offset >= followerLeaderboard.getSize()) {
+            rows = List.of();
+        } else {
+            List<FollowerCountDto> top = followRepository.findMostFollowed(Limit.of(Math.min(offset + limit,
+                    followerLeaderboard.getSize())));
+            rows = top.subList(Math.min(offset, top.size()), top.size());
+        }
+        Map<Long, User> usersById = userService.findAllByIdInOrder(rows.stream().map(FollowerCountDto::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<LeaderboardEntryDto> entries = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            FollowerCountDto row = rows.get(i);
+            User user = usersById.get(row.userId());
+            entries.add(new LeaderboardEntryDto(offset + i + 1, row.userId(),
+                    user == null ? null : user.getUsername(),
+                    user == null ? null : user.getProfilePic(),
+                    row.followerCount()));
+        }
+        return entries;
     }
 
     //    * Takip önerileri getirme
+    //    Öneri motoru hazırsa önceden hesaplanmış, ortak bağlantı sayısına göre sıralı ilk N öneri döner.
     public List<User> getFollowSuggestions(Long userId) {
+        if (followSuggestionEngine.isReady()) {
+            return userService.findAllByIdInOrder(followSuggestionEngine.getSuggestionIds(userId));
+        }
         List<Long> longs = followRepository.getFollowSuggestions(userId);
         return userService.findAllById(longs);
     }
 
     public List<GetMyFollowersResponseDto> getMyFollowers(Long userId) {
-       return null;
+        return followRepository.findFollowerSummaries(userId).stream()
+                .map(dto -> new GetMyFollowersResponseDto(dto.username(), dto.profilePic()))
+                .toList();
+    }
+
+//	## Sayfalı listeler (keyset): cursor bir önceki sayfanın nextCursor değeridir, ilk sayfa için boş bırakılır.
+    public CursorPage<FollowUserResponseDto> getFollowersPage(Long userId, String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        return CursorPage.of(followRepository.findFollowerPage(userId, CursorCodec.decode(cursor),
+                Limit.of(pageSize + 1)), pageSize, FollowUserResponseDto::followId);
+    }
+
+    public CursorPage<FollowUserResponseDto> getFolloweesPage(Long userId, String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        return CursorPage.of(followRepository.findFolloweePage(userId, CursorCodec.decode(cursor),
+                Limit.of(pageSize + 1)), pageSize, FollowUserResponseDto::followId);
+    }
+
+    public CursorPage<FollowUserResponseDto> getFriendsPage(Long userId, String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        return CursorPage.of(followRepository.findFriendPage(userId, CursorCodec.decode(cursor),
+                Limit.of(pageSize + 1)), pageSize, FollowUserResponseDto::followId);
+    }
+
+    public CursorPage<Follow> getPendingFollowsPage(Long userId, String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        return CursorPage.of(followRepository.findAllByFolloweeIdAndStatusAndIdLessThanOrderByIdDesc(userId,
+                FollowStatus.PENDING, CursorCodec.decode(cursor), Limit.of(pageSize + 1)), pageSize, Follow::getId);
+    }
+
+    private int normalizePageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    //* Bir kullanıcı diğerini takip ediyor mu? İndeks hazırsa veritabanına gitmeden cevaplanır.
+    public boolean isFollowing(Long followerId, Long followeeId) {
+        if (followGraphIndex.isReady()) {
+            return followGraphIndex.isFollowing(followerId, followeeId);
+        }
+        return followRepository.existsByFollowerIdAndFolloweeIdAndStatus(followerId, followeeId, FollowStatus.OK);
+    }
+
+    private void publish(Follow follow, FollowEventType type) {
+        eventPublisher.publishEvent(new FollowEvent(follow.getId(), follow.getFollowerId(), follow.getFolloweeId(), type));
     }
 }
 
@@ -0,0 +1,177 @@
+package org.basak.friendshipapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.basak.friendshipapp.dto.response.MessageResponseDto;
+import org.basak.friendshipapp.entity.Message;
+import org.basak.friendshipapp.exception.ErrorType;
+import org.basak.friendshipapp.exception.FriendshipException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yüksek hacimli mesaj alımı için toplu yazma hattı. Gelen mesajlar sınırlı bir kuyruğa alınır; tek bir yazıcı
+ * thread kuyruktan en fazla {@code max-batch-size} mesajı ya da ilk mesajdan itibaren {@code max-linger-ms} süre
+ * dolana kadar biriktirip tek transaction'da (JDBC batch) kaydeder. Her istemcinin future'ı ancak kendi mesajının
+ * bulunduğu batch commit edildikten sonra tamamlanır. Kuyruk doluysa istek beklemeden reddedilir (backpressure).
+ * <p>
+ * Hat kapalıyken ({@code friendship.message-ingestion.enabled=false}) mesajlar eskisi gibi tek tek kaydedilir.
+ */
+@Service
+@Slf4j
+public class MessageIngestionService {
+    private final MessageService messageService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final BlockingQueue<PendingMessage> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    public MessageIngestionService(MessageService messageService,
+                                   @Value("${friendship.message-ingestion.enabled:false}") boolean enabled,
+                                   @Value("${friendship.message-ingestion.max-batch-size:200}") int maxBatchSize,
+                                   @Value("${friendship.message-ingestion.max-linger-ms:10}") long maxLingerMs,
+                                   @Value("${friendship.message-ingestion.queue-capacity:10000}") int queueCapacity) {
+        this.messageService = messageService;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxLingerMs));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "message-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Mesaj alım hattı başlatıldı: batch={}, linger={} ms, kuyruk={}",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxLingerNanos), queue.remainingCapacity());
+    }
+
+    /**
+     * Mesajı kaydedilmek üzere kuyruğa alır. Dönen future, mesaj veritabanına yazılıp commit edildiğinde tamamlanır.
+     */
+    public CompletableFuture<MessageResponseDto> submit(Long senderId, Long receiverId, String content) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(
+                    messageService.save(senderId, receiverId, content, LocalDateTime.now()));
+        }
+        Message message = Message.builder()
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .message(content)
+                .sendDate(LocalDateTime.now())
+                .build();
+        PendingMessage pending = new PendingMessage(message, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new FriendshipException(ErrorType.MESSAGE_QUEUE_FULL);
+        }
+        return pending.future();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // kapanışta kuyrukta kalanlar yazılır, böylece kabul edilmiş hiçbir mesaj sessizce kaybolmaz
+        List<PendingMessage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += maxBatchSize) {
+            flush(remaining.subList(from, Math.min(from + maxBatchSize, remaining.size())));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingMessage first = queue.take();
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    // önce beklemeden boşalt, batch dolmadıysa linger süresi bitene kadar bekle
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } catch (Throwable e) {
+                    // Error (OOM, StackOverflowError vb.) yazıcı thread'ini öldürmesin; bu batch'te cevaplanmamış
+                    // mesajlar hatayla tamamlanır, kuyruktakiler yazılmaya devam eder
+                    log.error("Mesaj batch'i yazılırken beklenmeyen hata ({} mesaj)", batch.size(), e);
+                    for (PendingMessage pending : batch) {
+                        pending.future().completeExceptionally(e);
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void flush(List<PendingMessage> batch) {
+        try {
+            List<Message> saved = messageService.persistAll(batch.stream().map(PendingMessage::message).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(toResponse(saved.get(i)));
+            }
+        } catch (RuntimeException batchError) {
+            // batch geri alındı; hatalı mesaj diğerlerini düşürmesin diye mesajlar tek tek yeniden denenir
+            log.warn("Mesaj batch'i yazılamadı ({} mesaj), tek tek deneniyor: {}", batch.size(), batchError.getMessage());
+            for (PendingMessage pending : batch) {
+                try {
+                    pending.message().setId(null);
+                    pending.message().setConversationId(null);
+                    Message saved = messageService.persistAll(List.of(pending.message())).get(0);
+                    pending.future().complete(toResponse(saved));
+                } catch (RuntimeException e) {
+                    pending.future().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static MessageResponseDto toResponse(Message message) {
+        return new MessageResponseDto(message.getSenderId(), message.getReceiverId(), message.getMessage());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private record PendingMessage(Message message, CompletableFuture<MessageResponseDto> future) {
+    }
+}
@@ -1,27 +1,55 @@
 package org.basak.friendshipapp.service;
 
+import org.basak.friendshipapp.cache.MessageRateCounter;
+import org.basak.friendshipapp.cache.UnreadMessageCounter;
 import org.basak.friendshipapp.dto.MessageDto;
+import org.basak.friendshipapp.dto.SenderUnreadCountDto;
+import org.basak.friendshipapp.dto.response.CursorPage;
 import org.basak.friendshipapp.dto.response.MessageResponseDto;
+import org.basak.friendshipapp.entity.Conversation;
 import org.basak.friendshipapp.entity.Message;
+import org.basak.friendshipapp.event.ConversationDeletedEvent;
+import org.basak.friendshipapp.event.MessageEvent;
 import org.basak.friendshipapp.repository.MessageRepository;
+import org.basak.friendshipapp.util.CursorCodec;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class MessageService {
+    public static final int DEFAULT_CONVERSATION_PAGE_SIZE = 50;
+    public static final int MAX_CONVERSATION_PAGE_SIZE = 200;
+    public static final int MAX_SEARCH_PAGE_SIZE = 50;
     private final MessageRepository messageRepository;
     private final UserService userService;
+    private final ConversationService conversationService;
+    private final UnreadMessageCounter unreadMessageCounter;
+    private final MessageRateCounter messageRateCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MessageService(MessageRepository messageRepository, UserService userService) {
+    public MessageService(MessageRepository messageRepository, UserService userService,
+                          ConversationService conversationService, UnreadMessageCounter unreadMessageCounter,
+                          MessageRateCounter messageRateCounter, ApplicationEventPublisher eventPublisher) {
         this.messageRepository = messageRepository;
         this.userService = userService;
+        this.conversationService = conversationService;
+        this.unreadMessageCounter = unreadMessageCounter;
+        this.messageRateCounter = messageRateCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Yeni bir mesaj oluşturur ve kaydeder
      */
+    @Transactional
     public MessageResponseDto save(Long senderId, Long receiverId, String message, LocalDateTime sendDate) {
         Message newMessage = Message.builder()
                 .senderId(senderId)
@@ -29,18 +57,20 @@ public class MessageService {
                 .message(message)
                 .sendDate(sendDate)
                 .build();
-        Message savedMessage = messageRepository.save(newMessage);
+        Message savedMessage = persistAll(List.of(newMessage)).get(0);
 
         return new MessageResponseDto(savedMessage.getSenderId(), savedMessage.getReceiverId(), savedMessage.getMessage());
     }
 
+    @Transactional
     public Message sendMessage(Long senderId, Long receiverId, String content) {
-        // Kullanıcıların var olup olmadığını kontrol et
-        userService.findById(senderId)
-                .orElseThrow(() -> new RuntimeException("Gönderen kullanıcı bulunamadı"));
-
-        userService.findById(receiverId)
-                .orElseThrow(() -> new RuntimeException("Alıcı kullanıcı bulunamadı"));
+        // Kullanıcıların var olup olmadığını kontrol et (Bloom filtresi + kullanıcı önbelleği)
+        if (!userService.existsById(senderId)) {
+            throw new RuntimeException("Gönderen kullanıcı bulunamadı");
+        }
+        if (!userService.existsById(receiverId)) {
+            throw new RuntimeException("Alıcı kullanıcı bulunamadı");
+        }
 
         // Mesaj içeriğini kontrol et
         if (content == null || content.trim().isEmpty()) {
@@ -56,7 +86,34 @@ public class MessageService {
                 .build();
 
         // Mesajı kaydet ve döndür
-        return messageRepository.save(message);
+        return persistAll(List.of(message)).get(0);
+    }
+
+    /**
+     * Mesajları konuşmalarına bağlayarak kaydeder ve konuşmaların son mesaj/okunmamış bilgilerini günceller. Tüm
+     * mesaj yazma yolları (tekil, toplu, başlangıç verisi) buradan geçer.
+     */
+    @Transactional
+    public List<Message> persistAll(List<Message> messages) {
+        Map<String, Long> conversationIds = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Message message : messages) {
+            if (message.getRead() == null) {
+                message.setRead(false);
+            }
+            //gönderim tarihi verilmemişse kayıt anı kullanılır; konuşmanın son mesajı bu tarihe göre seçilir
+            if (message.getSendDate() == null) {
+                message.setSendDate(now);
+            }
+            String pairKey = Math.min(message.getSenderId(), message.getReceiverId()) + ":"
+                    + Math.max(message.getSenderId(), message.getReceiverId());
+            message.setConversationId(conversationIds.computeIfAbsent(pairKey,
+                    key -> conversationService.getOrCreate(message.getSenderId(), message.getReceiverId()).getId()));
+        }
+        List<Message> savedMessages = messageRepository.saveAll(messages);
+        conversationService.recordMessages(savedMessages);
+        savedMessages.forEach(savedMessage -> eventPublisher.publishEvent(MessageEvent.sent(savedMessage)));
+        return savedMessages;
     }
 
     public Message findById(Long messageId) {
@@ -116,6 +173,17 @@ public class MessageService {
         return messageRepository.findAllByMessageContainingIgnoreCase(text);
     }
 
+    /**
+     * Kullanıcının mesajlarında tam metin arama yapar (GIN index, ilgililik sırasına göre, sayfalı)
+     */
+    public List<Message> searchMessages(Long userId, String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int pageSize = size <= 0 ? 20 : Math.min(size, MAX_SEARCH_PAGE_SIZE);
+        return messageRepository.searchMessages(userId, query, pageSize, Math.max(page, 0) * pageSize);
+    }
+
     /**
      * Belirli bir metni içermeyen tüm mesajları getirir
      */
@@ -127,39 +195,92 @@ public class MessageService {
      * Her konuşma için en son mesajı getirir
      */
     public List<Message> findLatestMessagePerConversation() {
-        return messageRepository.findLatestMessagePerConversation();
+        return conversationService.findLatestMessages();
     }
 
     /**
-     * Bir kullanıcının okunmamış mesaj sayısını getirir (Message entity'sine 'read' alanı eklenmesi gerekir)
+     * Bir kullanıcının konuşmalarını son mesaj tarihine göre getirir (gelen kutusu)
+     */
+    public List<Conversation> getInbox(Long userId, int limit) {
+        return conversationService.getInbox(userId, limit);
+    }
+
+    /**
+     * Bir kullanıcının okunmamış mesaj sayısını getirir (bellekteki sayaçtan; ilk okumada veritabanından yüklenir)
      */
     public Long countUnreadMessagesByReceiverId(Long receiverId) {
-        return messageRepository.countUnreadMessagesByReceiverId(receiverId);
+        return unreadMessageCounter.get(receiverId);
     }
 
     /**
      * Mesajı okundu olarak işaretle (Message entity'sine 'read' alanı eklenmesi gerekir)
      */
+    @Transactional
     public Message markAsRead(Long messageId) {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Mesaj bulunamadı"));
+        if (Boolean.TRUE.equals(message.getRead())) {
+            return message;
+        }
         message.setRead(true);
+        conversationService.markRead(message);
+        eventPublisher.publishEvent(MessageEvent.read(message.getReceiverId(), message.getSenderId(), 1));
         return messageRepository.save(message);
     }
 
     /**
-     * Bir kullanıcının tüm mesajlarını okundu olarak işaretle (Message entity'sine 'read' alanı eklenmesi gerekir)
+     * Bir kullanıcının tüm mesajlarını tek bir UPDATE ile okundu olarak işaretler ve konuşma sayaçlarını aynı
+     * transaction içinde sıfırlar. Okundu bilgisi gönderici başına yayınlanır. Okundu yapılan mesaj sayısını döner.
      */
-    public void markAllAsRead(Long receiverId) {
-        List<Message> unreadMessages = findAllByReceiverId(receiverId);
+    @Transactional
+    public int markAllAsRead(Long receiverId) {
+        List<SenderUnreadCountDto> bySender = messageRepository.countUnreadMessagesBySender(receiverId);
+        int updated = messageRepository.markAllAsRead(receiverId);
+        if (updated > 0) {
+            conversationService.markAllRead(receiverId);
+            int published = 0;
+            for (SenderUnreadCountDto count : bySender) {
+                int read = count.unreadCount().intValue();
+                eventPublisher.publishEvent(MessageEvent.read(receiverId, count.senderId(), read));
+                published += read;
+            }
+            // sayım ile UPDATE arasında gelen mesajlar: yalnızca okunmamış sayacı düzeltilir, okundu bilgisi gönderilmez
+            if (published != updated) {
+                eventPublisher.publishEvent(MessageEvent.read(receiverId, null, updated - published));
+            }
+        }
+        return updated;
+    }
 
-        for (Message message : unreadMessages) {
+    /**
+     * Bir kullanıcının belirli bir konuşmadaki mesajlarını (upToMessageId verilirse o mesaja kadar) okundu olarak
+     * işaretler. Okundu yapılan mesaj sayısını döner.
+     */
+    @Transactional
+    public int markConversationAsRead(Long receiverId, Long otherUserId, Long upToMessageId) {
+        return conversationService.find(receiverId, otherUserId)
+                .map(conversation -> {
+                    int updated = markReadUpTo(receiverId, conversation.getId(), upToMessageId);
+                    if (updated > 0) {
+                        conversationService.markRead(conversation, receiverId, updated);
+                        eventPublisher.publishEvent(MessageEvent.read(receiverId, otherUserId, updated));
+                    }
+                    return updated;
+                })
+                .orElse(0);
+    }
 
-            if (!message.getRead()) {
-                message.setRead(true);
-                messageRepository.save(message);
-            }
+    //"şu mesaja kadar" sınırı id ile değil (send_date, id) ile uygulanır: pooled-lo id'leri node başına blok halinde
+    //ayrıldığından sonra gönderilen bir mesajın id'si daha küçük olabilir
+    private int markReadUpTo(Long receiverId, Long conversationId, Long upToMessageId) {
+        if (upToMessageId == null) {
+            return messageRepository.markConversationAsRead(receiverId, conversationId);
         }
+        Message upTo = messageRepository.findById(upToMessageId)
+                .filter(message -> conversationId.equals(message.getConversationId()))
+                .orElseThrow(() -> new RuntimeException("Mesaj bulunamadı"));
+        return messageRepository.markConversationAsReadUpTo(receiverId, conversationId, upTo.getSendDate(),
+                upTo.getId());
     }
 
     /**
@@ -172,27 +293,67 @@ public class MessageService {
     /**
      * Mesajı sil
      */
+    @Transactional
     public void deleteMessage(Long messageId) {
-        if (!messageRepository.existsById(messageId)) {
-            throw new RuntimeException("Mesaj bulunamadı");
-        }
-        messageRepository.deleteById(messageId);
+        Message message = messageRepository.findById(messageId)
+                .orElseThrow(() -> new RuntimeException("Mesaj bulunamadı"));
+        messageRepository.delete(message);
+        messageRepository.flush();
+        conversationService.onMessageDeleted(message);
+        eventPublisher.publishEvent(MessageEvent.deleted(message));
     }
 
     /**
      * İki kullanıcı arasındaki tüm konuşmayı sil
      */
+    @Transactional
     public void deleteConversation(Long user1Id, Long user2Id) {
-        List<Message> conversation = findConversation(user1Id, user2Id);
-        messageRepository.deleteAll(conversation);
+        conversationService.find(user1Id, user2Id).ifPresent(conversation -> {
+            //silinecek mesajların son 24 saatteki dakikalık sayıları, oran sayacından düşülmek üzere silmeden önce alınır
+            List<ConversationDeletedEvent.MinuteCount> counts = new ArrayList<>();
+            LocalDateTime from = LocalDateTime.now().minusMinutes(MessageRateCounter.MAX_WINDOW_MINUTES);
+            for (Object[] row : messageRepository.countPerMinuteAndSenderByConversationSince(conversation.getId(), from)) {
+                LocalDateTime minute = row[0] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[0];
+                counts.add(new ConversationDeletedEvent.MinuteCount(minute, ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue()));
+            }
+            conversationService.deleteConversation(user1Id, user2Id);
+            eventPublisher.publishEvent(new ConversationDeletedEvent(conversation.getId(), counts));
+            // silinen okunmamış mesajlar iki tarafın sayaçlarından düşülür (okundu bilgisi olarak yayınlanmaz)
+            eventPublisher.publishEvent(MessageEvent.conversationDeleted(conversation.getUserLowId(),
+                    conversation.getUserHighId(), conversation.getUnreadCountLow()));
+            eventPublisher.publishEvent(MessageEvent.conversationDeleted(conversation.getUserHighId(),
+                    conversation.getUserLowId(), conversation.getUnreadCountHigh()));
+        });
     }
 
     /**
      * İki kullanıcı arasındaki konuşmayı getirir (tarih sırasına göre)
      */
     public List<Message> findConversation(Long user1Id, Long user2Id) {
-        return messageRepository.findAllBySenderIdAndReceiverIdOrReceiverIdAndSenderIdOrderBySendDateAsc(
-                user1Id, user2Id, user1Id, user2Id);
+        return conversationService.find(user1Id, user2Id)
+                .map(conversation -> messageRepository.findAllByConversationIdOrderBySendDateAsc(conversation.getId()))
+                .orElse(List.of());
+    }
+
+    /**
+     * İki kullanıcı arasındaki konuşmayı en yeniden eskiye doğru sayfalı getirir. cursor boşsa en yeni mesajlardan
+     * başlanır; sonraki sayfa için dönen nextCursor gönderilir.
+     */
+    public CursorPage<Message> getConversationPage(Long user1Id, Long user2Id, String cursor, int size) {
+        int pageSize = size <= 0 ? DEFAULT_CONVERSATION_PAGE_SIZE : Math.min(size, MAX_CONVERSATION_PAGE_SIZE);
+        CursorCodec.DateIdKey before = CursorCodec.decodeDateId(cursor);
+        return conversationService.find(user1Id, user2Id)
+                .map(conversation -> {
+                    List<Message> rows = before == null
+                            ? messageRepository.findAllByConversationIdOrderBySendDateDescIdDesc(conversation.getId(),
+                            Limit.of(pageSize + 1))
+                            : messageRepository.findConversationPageBefore(conversation.getId(), before.date(),
+                            before.id(), Limit.of(pageSize + 1));
+                    return CursorPage.withCursor(rows, pageSize,
+                            message -> CursorCodec.encode(message.getSendDate(), message.getId()));
+                })
+                .orElseGet(() -> new CursorPage<>(List.of(), null, false));
     }
 
     /**
@@ -213,8 +374,27 @@ public class MessageService {
      * Son 24 saat içinde gönderilen mesajları say
      */
     public Long countMessagesInLast24Hours() {
+        if (messageRateCounter.isReady()) {
+            return messageRateCounter.count(MessageRateCounter.MAX_WINDOW_MINUTES);
+        }
         LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
         return messageRepository.countMessagesInLast24Hours(oneDayAgo);
     }
 
+    /**
+     * Son windowMinutes dakikada gönderilen mesaj sayısı (bellekteki kayan pencere sayacından). senderId verilirse
+     * yalnızca o kullanıcının gönderdikleri sayılır (en fazla son 60 dakika).
+     */
+    public long countMessagesInWindow(int windowMinutes, Long senderId) {
+        if (senderId != null) {
+            return messageRateCounter.countBySender(senderId,
+                    Math.min(Math.max(windowMinutes, 1), MessageRateCounter.MAX_SENDER_WINDOW_MINUTES));
+        }
+        int window = Math.min(Math.max(windowMinutes, 1), MessageRateCounter.MAX_WINDOW_MINUTES);
+        if (messageRateCounter.isReady()) {
+            return messageRateCounter.count(window);
+        }
+        return messageRepository.countMessagesInLast24Hours(LocalDateTime.now().minusMinutes(window));
+    }
+
 }
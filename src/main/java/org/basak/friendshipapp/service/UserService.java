@@ -1,26 +1,46 @@
 package org.basak.friendshipapp.service;
 
 import jakarta.validation.Valid;
+import org.basak.friendshipapp.cache.UserCache;
+import org.basak.friendshipapp.cache.UserIdBloomFilter;
 import org.basak.friendshipapp.dto.UserDto;
+import org.basak.friendshipapp.dto.UserFollowCountDto;
 import org.basak.friendshipapp.dto.request.RegisterRequestDto;
 import org.basak.friendshipapp.dto.request.UserUpdateRequestDto;
 import org.basak.friendshipapp.dto.response.GetAllUsersResponseDto;
 import org.basak.friendshipapp.dto.response.RegisterResponseDto;
+import org.basak.friendshipapp.dto.response.UserSearchResponseDto;
 import org.basak.friendshipapp.entity.Gender;
 import org.basak.friendshipapp.entity.User;
 import org.basak.friendshipapp.mapper.UserMapper;
 import org.basak.friendshipapp.repository.UserRepository;
+import org.basak.friendshipapp.search.UsernameMatchMode;
+import org.basak.friendshipapp.search.UsernameSearchIndex;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class UserService {
+    // IN (...) listesinin üst sınırı; çok büyük listeler tek sorguda gönderilmez.
+    private static final int ID_CHUNK_SIZE = 1000;
     private final UserRepository userRepository;
+    private final UsernameSearchIndex usernameSearchIndex;
+    private final UserCache userCache;
+    private final UserIdBloomFilter userIdBloomFilter;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UsernameSearchIndex usernameSearchIndex, UserCache userCache,
+                       UserIdBloomFilter userIdBloomFilter) {
         this.userRepository = userRepository;
+        this.usernameSearchIndex = usernameSearchIndex;
+        this.userCache = userCache;
+        this.userIdBloomFilter = userIdBloomFilter;
     }
 
     public User save(
@@ -38,10 +58,16 @@ public class UserService {
                 .gender(gender)
                 .age(age).build();
 
-        return userRepository.save(user);
+        return save(user);
     }
     public User save(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        if (user.getId() != null) {
+            userCache.invalidate(user.getId());
+        }
+        userIdBloomFilter.put(savedUser.getId());
+        usernameSearchIndex.put(savedUser.getId(), savedUser.getUsername());
+        return savedUser;
     }
 
     public List<User> findAll() {
@@ -182,16 +208,52 @@ public class UserService {
         return userRepository.tumKullanicilariGetir();
     }
 
+    //Bloom filtresinde olmayan ve kısa süre önce veritabanında da bulunamamış id'ler için veritabanına gidilmez;
+    //diğerleri önbellekten okunur, yoksa veritabanından yüklenip önbelleğe yazılır. Filtrenin bilmediği ama
+    //veritabanında bulunan kullanıcılar (başka node'da oluşturulanlar) filtreye eklenir.
     public Optional<User> findById(Long userId) {
-        return userRepository.findById(userId);
+        if (userIdBloomFilter.isKnownAbsent(userId)) {
+            return Optional.empty();
+        }
+        User user = userCache.get(userId, id -> userRepository.findById(id).orElse(null));
+        if (user == null) {
+            userIdBloomFilter.markAbsent(userId);
+        } else if (!userIdBloomFilter.mightContain(userId)) {
+            userIdBloomFilter.put(userId);
+        }
+        return Optional.ofNullable(user);
     }
 
     public List<User> findAllById(List<Long> longs) {
-        return userRepository.findAllById(longs);
+        return findAllByIdInOrder(longs);
+    }
+
+    /**
+     * Verilen id'leri sınırlı büyüklükte IN sorgularıyla çözer ve kullanıcıları id listesindeki sırayla döner.
+     * Bulunamayan id'ler atlanır.
+     */
+    public List<User> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, User> usersById = new HashMap<>(userCache.getAllPresent(ids));
+        List<Long> missingIds = ids.stream().filter(id -> !usersById.containsKey(id)).distinct().toList();
+        for (int from = 0; from < missingIds.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = missingIds.subList(from, Math.min(from + ID_CHUNK_SIZE, missingIds.size()));
+            for (User user : userRepository.findAllByIdIn(chunk)) {
+                usersById.put(user.getId(), user);
+                userCache.put(user);
+            }
+        }
+        List<User> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = usersById.get(id);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
     }
 
     public void createUser(String username, String password, String email, String profilePic) {
-        userRepository.save(User.builder()
+        save(User.builder()
                 .username(username)
                 .password(password)
                 .email(email)
@@ -200,7 +262,7 @@ public class UserService {
 
     public RegisterResponseDto register(RegisterRequestDto dto) {
 
-        User savedUser = userRepository.save(User.builder()
+        User savedUser = save(User.builder()
                 .username(dto.username())
                 .password(dto.password())
                 .email(dto.email())
@@ -208,12 +270,58 @@ public class UserService {
         return new RegisterResponseDto(savedUser.getUsername(), savedUser.getProfilePic());
     }
 
+    /**
+     * Kullanıcı adı araması (önek/içeren/biten). İndeks hazır değilse LIKE sorgusuna düşer.
+     */
+    public List<UserSearchResponseDto> searchUsernames(String query, UsernameMatchMode mode, int limit) {
+        if (usernameSearchIndex.isReady()) {
+            return usernameSearchIndex.search(query, mode, limit);
+        }
+        return userRepository.findAllByUsernameContainingIgnoreCase(query).stream()
+                .limit(limit)
+                .map(user -> new UserSearchResponseDto(user.getId(), user.getUsername()))
+                .toList();
+    }
+
     public List<GetAllUsersResponseDto> getAllUsers() {
         return userRepository.getAllUsers();
     }
 
+    /**
+     * Takip eden kullanıcının takip sayısını ve takip edilenin takipçi sayısını delta kadar atomik olarak değiştirir.
+     * Kullanıcı satırları okunmaz, yalnızca ilgili sütun güncellenir.
+     */
+    @Transactional
+    public void incrementFollowCounts(Long followerId, Long followeeId, int delta) {
+        if (userRepository.incrementFollowingCount(followerId, delta) == 0) {
+            throw new IllegalStateException("Takip eden user bulunamadı.");
+        }
+        if (userRepository.incrementFollowerCount(followeeId, delta) == 0) {
+            throw new IllegalStateException("Takip edilen user bulunamadı.");
+        }
+        userCache.invalidate(followerId, followeeId);
+    }
+
+    /**
+     * Sayaçları yalnızca hâlâ beklenen (okunan) değerlerdeyse günceller; güncellenip güncellenmediğini döner.
+     */
+    @Transactional
+    public boolean updateFollowCounts(UserFollowCountDto expected, int followerCount, int followingCount) {
+        boolean updated = userRepository.updateFollowCounts(expected.id(), expected.followerCount(),
+                expected.followingCount(), followerCount, followingCount) > 0;
+        if (updated) {
+            userCache.invalidate(expected.id());
+        }
+        return updated;
+    }
+
+    public List<UserFollowCountDto> findFollowCountsAfter(Long afterId, int limit) {
+        return userRepository.findFollowCountsAfter(afterId, Limit.of(limit));
+    }
+
+    //varlık kontrolü de önbellek üzerinden yapılır; ilk kontrolde kullanıcı önbelleğe alınır
     public boolean existsById(Long followerId) {
-        return userRepository.existsById(followerId);
+        return findById(followerId).isPresent();
     }
     public void updateUserProfile(@Valid UserUpdateRequestDto dto) {
         //dto'dan(kaynak) usera(hedef) dönüşüm:
@@ -232,7 +340,7 @@ public class UserService {
 		                .build();*/
         User user = userRepository.findById(dto.id()).get();
         UserMapper.INSTANCE.updateUserFromDto(dto, user);
-        userRepository.save(user); //bu işlem kaydetmez, günceller. çünkü entity içinde id değeri mevcuttur.
+        save(user); //bu işlem kaydetmez, günceller. çünkü entity içinde id değeri mevcuttur.
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.basak.friendshipapp.util;
+
+import org.basak.friendshipapp.exception.ErrorType;
+import org.basak.friendshipapp.exception.FriendshipException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Sayfalama imleçlerini (seek anahtarı) URL güvenli, opak bir metne çevirir. Tek kolonlu anahtarlar (id) "v1",
+ * (tarih, id) bileşik anahtarları "v2" önekiyle yazılır.
+ */
+public final class CursorCodec {
+    private static final String PREFIX = "v1:";
+    private static final String DATE_ID_PREFIX = "v2:";
+    private static final char SEPARATOR = '|';
+
+    /**
+     * (tarih, id) seek anahtarı
+     */
+    public record DateIdKey(LocalDateTime date, Long id) {
+    }
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Long key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * İmleç boşsa ilk sayfa için {@code Long.MAX_VALUE} döner (azalan sıralı seek sorguları için).
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new FriendshipException(ErrorType.INVALID_CURSOR);
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        }
+        catch (IllegalArgumentException e) {
+            throw new FriendshipException(ErrorType.INVALID_CURSOR);
+        }
+    }
+
+    public static String encode(LocalDateTime date, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((DATE_ID_PREFIX + date + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * İmleç boşsa ilk sayfa için null döner.
+     */
+    public static DateIdKey decodeDateId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (!decoded.startsWith(DATE_ID_PREFIX) || separator < 0) {
+                throw new FriendshipException(ErrorType.INVALID_CURSOR);
+            }
+            return new DateIdKey(LocalDateTime.parse(decoded.substring(DATE_ID_PREFIX.length(), separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        }
+        catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new FriendshipException(ErrorType.INVALID_CURSOR);
+        }
+    }
+}
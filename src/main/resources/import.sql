@@ -0,0 +1,5 @@
+-- Hibernate ddl-auto=create şemayı oluşturduktan sonra bu dosyayı çalıştırır (her satır tek bir ifade).
+-- Mesaj arama: mesaj metninden üretilen tsvector sütunu ve GIN index. Sütun GENERATED olduğu için insert/update/delete
+-- ile veritabanı tarafından otomatik senkron tutulur.
+ALTER TABLE tbl_message ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple', coalesce(message, ''))) STORED;
+CREATE INDEX idx_message_search_vector ON tbl_message USING GIN (search_vector);
@@ -0,0 +1,62 @@
+package org.basak.friendshipapp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dakikalık halka sayacı: kova dönüşü, halkanın başa sardığı pencerelerde toplam ve negatif (silme) deltaları.
+ */
+class SlidingWindowCounterTest {
+    private static final int BUCKETS = 10;
+
+    @Test
+    void rotatedBucketDropsTheOldMinute() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS);
+        counter.add(3, 5, 3);
+        assertThat(counter.sum(BUCKETS, 3)).isEqualTo(5);
+
+        //13 ile 3 aynı kovaya düşer; kova yeni dakikaya alınıp sıfırlanmalı
+        counter.add(13, 2, 13);
+        assertThat(counter.sum(BUCKETS, 13)).isEqualTo(2);
+        assertThat(counter.sum(1, 13)).isEqualTo(2);
+    }
+
+    @Test
+    void sumCoversMinutesAcrossTheWrap() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS);
+        for (long minute = 15; minute <= 22; minute++) { //kova indeksleri 5..9 ve 0..2
+            counter.add(minute, 1, 22);
+        }
+        assertThat(counter.sum(BUCKETS, 22)).isEqualTo(8);
+        assertThat(counter.sum(5, 22)).isEqualTo(5); //18..22
+        assertThat(counter.sum(3, 22)).isEqualTo(3); //20..22, tamamı başa sarmış kovalarda
+
+        //zaman ilerledikçe eski dakikalar pencereden çıkar
+        assertThat(counter.sum(BUCKETS, 27)).isEqualTo(5); //18..22
+        assertThat(counter.sum(BUCKETS, 32)).isZero();
+    }
+
+    @Test
+    void negativeDeltasAreSubtracted() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS);
+        counter.add(100, 4, 100);
+        counter.add(101, 3, 101);
+        counter.add(100, -2, 101);
+        assertThat(counter.sum(BUCKETS, 101)).isEqualTo(5);
+        assertThat(counter.sum(1, 101)).isEqualTo(3);
+
+        counter.add(101, -10, 101);
+        assertThat(counter.sum(1, 101)).isZero(); //toplam sıfırın altına inmez
+    }
+
+    @Test
+    void outOfRangeMinutesAreIgnoredOrClamped() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(BUCKETS);
+        counter.add(40, 1, 50); //halkanın dışında kalan eski dakika
+        assertThat(counter.sum(BUCKETS, 50)).isZero();
+
+        counter.add(55, 1, 50); //ileri tarihli dakika içinde bulunulan dakikaya sayılır
+        assertThat(counter.sum(1, 50)).isEqualTo(1);
+    }
+}
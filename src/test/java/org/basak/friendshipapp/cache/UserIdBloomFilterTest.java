@@ -0,0 +1,118 @@
+package org.basak.friendshipapp.cache;
+
+import org.basak.friendshipapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bloom filtresinin yanlış negatif sözleşmesi: eklenen/yüklenen bir id hiçbir zaman "yok" denmez, filtrenin
+ * ıskaladığı id'ler ise veritabanında doğrulanıp negatif önbelleğe yazılmadan reddedilmez.
+ */
+class UserIdBloomFilterTest {
+    private UserRepository userRepository;
+    private UserIdBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        filter = new UserIdBloomFilter(userRepository, 10_000, 0.01, 60_000, 10_000);
+    }
+
+    @Test
+    void everyIdIsPossiblyPresentBeforeLoad() {
+        assertThat(filter.mightContain(42L)).isTrue();
+        assertThat(filter.isKnownAbsent(42L)).isFalse();
+    }
+
+    @Test
+    void loadedAndPutIdsAreNeverReportedAbsent() {
+        when(userRepository.findAllIds()).thenReturn(LongStream.rangeClosed(1, 5_000).boxed().toList());
+        filter.load();
+        LongStream.rangeClosed(5_001, 10_000).forEach(filter::put);
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(filter.mightContain(id)).as("id %d", id).isTrue();
+            assertThat(filter.isKnownAbsent(id)).as("id %d", id).isFalse();
+        }
+    }
+
+    @Test
+    void filterMissesAreNotKnownAbsentUntilConfirmed() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        filter.load();
+
+        //başka bir node'da load'dan sonra oluşturulan kullanıcılar: filtrede yoklar ama veritabanına sorulmalılar
+        for (long id = 4; id <= 10_000; id++) {
+            assertThat(filter.isKnownAbsent(id)).as("id %d", id).isFalse();
+        }
+    }
+
+    @Test
+    void idBelowTheLoadedMaximumCreatedAfterLoadIsNotRejected() {
+        //pooled-lo: bu node daha yeni bloğundan 1101'i görmüşken başka node eski bloğundan 1020'yi oluşturur
+        List<Long> initial = LongStream.concat(LongStream.rangeClosed(1, 1_000), LongStream.of(1_101)).boxed().toList();
+        when(userRepository.findAllIds()).thenReturn(initial);
+        filter.load();
+
+        long createdElsewhere = LongStream.rangeClosed(1_001, 1_100).filter(id -> !filter.mightContain(id))
+                .findFirst().orElseThrow();
+        assertThat(filter.isKnownAbsent(createdElsewhere)).isFalse();
+    }
+
+    @Test
+    void confirmedAbsenceIsClearedByPut() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        filter.load();
+        long id = LongStream.rangeClosed(4, 10_000).filter(candidate -> !filter.mightContain(candidate))
+                .findFirst().orElseThrow();
+
+        filter.markAbsent(id);
+        assertThat(filter.isKnownAbsent(id)).isTrue();
+
+        filter.put(id);
+        assertThat(filter.isKnownAbsent(id)).isFalse();
+    }
+
+    @Test
+    void rebuildPicksUpIdsCreatedElsewhere() {
+        List<Long> initial = LongStream.rangeClosed(1, 1_000).filter(id -> id % 2 == 0).boxed().toList();
+        when(userRepository.findAllIds()).thenReturn(initial);
+        filter.load();
+        LongStream.rangeClosed(1, 1_000).filter(id -> id % 2 == 1).forEach(filter::markAbsent);
+        long knownAbsent = LongStream.rangeClosed(1, 1_000).filter(id -> id % 2 == 1)
+                .filter(filter::isKnownAbsent).count();
+        assertThat(knownAbsent).isGreaterThan(0);
+
+        when(userRepository.findAllIds()).thenReturn(LongStream.rangeClosed(1, 1_000).boxed().toList());
+        filter.rebuild();
+
+        for (long id = 1; id <= 1_000; id++) {
+            assertThat(filter.isKnownAbsent(id)).as("id %d", id).isFalse();
+        }
+    }
+
+    @Test
+    void putDuringRebuildSurvivesTheSwap() {
+        when(userRepository.findAllIds()).thenAnswer(invocation -> {
+            filter.put(777L);
+            return List.of(1L, 1_000L);
+        });
+        filter.rebuild();
+
+        assertThat(filter.mightContain(777L)).isTrue();
+        assertThat(filter.isKnownAbsent(777L)).isFalse();
+    }
+
+    @Test
+    void nullIsAlwaysAbsent() {
+        assertThat(filter.mightContain(null)).isFalse();
+        assertThat(filter.isKnownAbsent(null)).isTrue();
+    }
+}